@@ -0,0 +1,181 @@
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import java.awt.event.*;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * Dropdown of name completions under a search field.
+ * On every edit the typed text is sent to a completion source (one of
+ * the controller's complete*Names methods) and the suggestions are
+ * shown in a popup below the field. Up/Down move through them, Enter
+ * or a click copies the selected one into the field, and Escape
+ * closes the popup.
+ *
+ * The popup never takes the focus, so typing continues in the field.
+ * Install it before the panel adds its own Enter key listener: key
+ * listeners run in the order they were added, so the selected
+ * completion is copied into the field before the panel searches.
+ *
+ * @author Enhanced Pokédex Team
+ * @version 1.0
+ * @since 2024
+ */
+public class AutocompletePopup {
+    /** Maximum number of completions shown */
+    public static final int MAX_SUGGESTIONS = 8;
+
+    /** The search field being completed */
+    private final JTextField field;
+    /** Gets the completions of a prefix, up to a limit */
+    private final BiFunction<String, Integer, List<String>> source;
+    /** Runs after a completion is picked with the mouse */
+    private final Runnable onPick;
+
+    private final JPopupMenu popup = new JPopupMenu();
+    private final DefaultListModel<String> suggestions = new DefaultListModel<>();
+    private final JList<String> suggestionList = new JList<>(suggestions);
+    /** Set while the field is changed by this class, to ignore the resulting edit */
+    private boolean adjusting;
+
+    /**
+     * Constructor that attaches the popup to a search field.
+     *
+     * @param field The search field to complete
+     * @param source Gets up to a limit of completions for the typed text
+     * @param onPick Runs after a completion is clicked (usually the panel's search)
+     */
+    public AutocompletePopup(JTextField field, BiFunction<String, Integer, List<String>> source,
+                             Runnable onPick) {
+        this.field = field;
+        this.source = source;
+        this.onPick = onPick;
+
+        popup.setFocusable(false);
+        suggestionList.setFocusable(false);
+        suggestionList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        popup.add(suggestionList);
+
+        addListeners();
+    }
+
+    private void addListeners() {
+        // Refresh the suggestions after every edit
+        field.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) { refreshLater(); }
+            @Override
+            public void removeUpdate(DocumentEvent e) { refreshLater(); }
+            @Override
+            public void changedUpdate(DocumentEvent e) { refreshLater(); }
+        });
+
+        // Keyboard navigation
+        field.addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent e) {
+                if (!popup.isVisible()) {
+                    return;
+                }
+                switch (e.getKeyCode()) {
+                    case KeyEvent.VK_DOWN:
+                        moveSelection(1);
+                        e.consume();
+                        break;
+                    case KeyEvent.VK_UP:
+                        moveSelection(-1);
+                        e.consume();
+                        break;
+                    case KeyEvent.VK_ENTER:
+                        if (suggestionList.getSelectedValue() != null) {
+                            pick(suggestionList.getSelectedValue());
+                        }
+                        popup.setVisible(false);
+                        break;
+                    case KeyEvent.VK_ESCAPE:
+                        popup.setVisible(false);
+                        e.consume();
+                        break;
+                    default:
+                        break;
+                }
+            }
+        });
+
+        // Mouse selection
+        suggestionList.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int index = suggestionList.locationToIndex(e.getPoint());
+                if (index >= 0) {
+                    pick(suggestions.get(index));
+                    popup.setVisible(false);
+                    onPick.run();
+                }
+            }
+        });
+
+        // Close when the field loses focus
+        field.addFocusListener(new FocusAdapter() {
+            @Override
+            public void focusLost(FocusEvent e) {
+                popup.setVisible(false);
+            }
+        });
+    }
+
+    private void refreshLater() {
+        if (!adjusting) {
+            SwingUtilities.invokeLater(this::refresh);
+        }
+    }
+
+    /**
+     * Replaces the suggestions with the completions of the current text.
+     */
+    private void refresh() {
+        String text = field.getText().trim();
+        List<String> completions = text.isEmpty() ? Collections.emptyList() : source.apply(text, MAX_SUGGESTIONS);
+
+        // Nothing to suggest, or the only suggestion is what was typed
+        if (completions.isEmpty() ||
+            (completions.size() == 1 && completions.get(0).equalsIgnoreCase(text))) {
+            popup.setVisible(false);
+            return;
+        }
+
+        suggestions.clear();
+        for (String completion : completions) {
+            suggestions.addElement(completion);
+        }
+        suggestionList.setFont(field.getFont());
+        suggestionList.setVisibleRowCount(completions.size());
+        suggestionList.clearSelection();
+
+        if (field.isShowing()) {
+            popup.pack();
+            if (!popup.isVisible()) {
+                popup.show(field, 0, field.getHeight());
+            }
+        }
+    }
+
+    private void moveSelection(int delta) {
+        int index = suggestionList.getSelectedIndex() + delta;
+        if (index >= 0 && index < suggestions.size()) {
+            suggestionList.setSelectedIndex(index);
+            suggestionList.ensureIndexIsVisible(index);
+        }
+    }
+
+    private void pick(String completion) {
+        adjusting = true;
+        try {
+            field.setText(completion);
+        } finally {
+            adjusting = false;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+import java.util.*;
+
+/**
+ * BK-tree over entity names for typo-tolerant search.
+ * Each node holds one normalized name (see SearchKey) and the entities
+ * with that name; a child is stored under its edit distance to the
+ * parent. Because edit distance obeys the triangle inequality, a search
+ * for names within distance k of a query only descends into children
+ * whose distance lies in [d - k, d + k], where d is the distance of the
+ * query to the current node, so most of the tree is never compared.
+ *
+ * Entities are returned nearest first; names at the same distance keep
+ * the order in which they were first added.
+ *
+ * @author Enhanced Pokédex Team
+ * @version 1.0
+ * @since 2024
+ * @param <T> The entity type
+ */
+public class BKTree<T> {
+    /**
+     * A distinct name and the entities that have it.
+     */
+    private static class Node<T> {
+        /** The normalized name */
+        private final String key;
+        /** Order in which the name was first added (tie-breaker) */
+        private final int order;
+        /** Entities with this name, in the order they were added */
+        private final List<T> values = new ArrayList<>(1);
+        /** Children keyed by their edit distance to this node (null until needed) */
+        private Map<Integer, Node<T>> children;
+
+        private Node(String key, int order) {
+            this.key = key;
+            this.order = order;
+        }
+    }
+
+    /** The first name added, or null if the tree is empty */
+    private Node<T> root;
+    /** Number of distinct names */
+    private int nodeCount;
+
+    /**
+     * Adds an entity under its name.
+     * Null names are ignored.
+     *
+     * @param name The entity name
+     * @param value The entity
+     */
+    public void add(String name, T value) {
+        if (name == null) {
+            return;
+        }
+        String key = SearchKey.normalize(name);
+        if (root == null) {
+            root = new Node<>(key, nodeCount++);
+            root.values.add(value);
+            return;
+        }
+
+        Node<T> node = root;
+        while (true) {
+            int d = distance(key, node.key);
+            if (d == 0) {
+                node.values.add(value);
+                return;
+            }
+            if (node.children == null) {
+                node.children = new HashMap<>();
+            }
+            Node<T> child = node.children.get(d);
+            if (child == null) {
+                child = new Node<>(key, nodeCount++);
+                child.values.add(value);
+                node.children.put(d, child);
+                return;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * Removes every entry from the tree.
+     */
+    public void clear() {
+        root = null;
+        nodeCount = 0;
+    }
+
+    /**
+     * Finds the entities whose name is within an edit distance of a query,
+     * ignoring case and accents.
+     *
+     * @param query The (possibly misspelled) name
+     * @param maxDistance The largest edit distance to accept (must not be negative)
+     * @return The matching entities, nearest first
+     */
+    public List<T> search(String query, int maxDistance) {
+        if (maxDistance < 0) {
+            throw new IllegalArgumentException("Edit distance must not be negative: " + maxDistance);
+        }
+
+        List<T> results = new ArrayList<>();
+        if (root == null) {
+            return results;
+        }
+
+        String key = SearchKey.normalize(query);
+        List<Node<T>> matches = new ArrayList<>();
+        Map<Node<T>, Integer> distances = new IdentityHashMap<>();
+        Deque<Node<T>> pending = new ArrayDeque<>();
+        pending.push(root);
+
+        while (!pending.isEmpty()) {
+            Node<T> node = pending.pop();
+            int d = distance(key, node.key);
+            if (d <= maxDistance) {
+                matches.add(node);
+                distances.put(node, d);
+            }
+            if (node.children != null) {
+                for (int childDistance = Math.max(1, d - maxDistance); childDistance <= d + maxDistance; childDistance++) {
+                    Node<T> child = node.children.get(childDistance);
+                    if (child != null) {
+                        pending.push(child);
+                    }
+                }
+            }
+        }
+
+        matches.sort((a, b) -> {
+            int byDistance = Integer.compare(distances.get(a), distances.get(b));
+            return byDistance != 0 ? byDistance : Integer.compare(a.order, b.order);
+        });
+        for (Node<T> match : matches) {
+            results.addAll(match.values);
+        }
+        return results;
+    }
+
+    /**
+     * Gets the number of distinct names in the tree.
+     * @return The number of names
+     */
+    public int size() {
+        return nodeCount;
+    }
+
+    /**
+     * Computes the Levenshtein edit distance between two strings
+     * (insertions, deletions and substitutions all cost 1).
+     *
+     * @param a The first string
+     * @param b The second string
+     * @return The edit distance
+     */
+    public static int distance(String a, String b) {
+        if (a.length() < b.length()) {
+            String swap = a;
+            a = b;
+            b = swap;
+        }
+        // Two rows over the shorter string
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            char ca = a.charAt(i - 1);
+            for (int j = 1; j <= b.length(); j++) {
+                int substitute = previous[j - 1] + (ca == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitute, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+}
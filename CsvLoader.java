@@ -0,0 +1,275 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Reads the rows of a CSV file (with a header record) into a list of
+ * parsed rows, either sequentially or in parallel.
+ *
+ * The parallel mode memory-maps the file and cuts it into chunks at
+ * record boundaries. Each chunk is parsed on the common ForkJoinPool
+ * into its own list, and the lists are concatenated in file order, so
+ * both modes return the same rows in the same order. Records may end
+ * with LF, CRLF or a bare CR, as CsvReader accepts. Line breaks inside
+ * quoted fields are not mistaken for boundaries: a first parallel pass
+ * counts the quotes in each chunk, which tells whether a chunk starts
+ * inside a quoted field.
+ *
+ * Row parsers run on several threads at once in the parallel mode, so
+ * they must only build new objects and not touch shared state.
+ *
+ * @author Enhanced Pokédex Team
+ * @version 1.0
+ * @since 2024
+ */
+public final class CsvLoader {
+    /** Smallest chunk worth handing to another thread */
+    private static final long MIN_CHUNK_BYTES = 1L << 20;
+    /** Largest chunk, which also bounds each mapping well below 2 GB */
+    private static final long MAX_CHUNK_BYTES = 16L << 20;
+
+    /**
+     * Turns the current record of a reader into a row.
+     *
+     * @param <R> The row type
+     */
+    public interface RowParser<R> {
+        /**
+         * Parses the current record.
+         *
+         * @param record The reader, positioned on the record
+         * @return The row, or null to skip the record
+         * @throws NumberFormatException if a numeric field is invalid;
+         *         the record is then reported as bad and skipped
+         */
+        R parse(CsvReader record);
+    }
+
+    private CsvLoader() {
+    }
+
+    /**
+     * Reads a file sequentially.
+     *
+     * @param filename The file to read
+     * @param parser Parses each record after the header
+     * @param badRecords Receives the text of each record the parser rejected, in file order
+     * @return The parsed rows, in file order
+     * @throws IOException if the file cannot be read
+     */
+    public static <R> List<R> read(String filename, RowParser<R> parser,
+                                   Consumer<String> badRecords) throws IOException {
+        List<R> rows = new ArrayList<>();
+        List<String> bad = new ArrayList<>();
+        try (CsvReader reader = new CsvReader(new FileReader(filename))) {
+            reader.nextRecord(); // Skip header
+            parseAll(reader, parser, rows, bad);
+        }
+        bad.forEach(badRecords);
+        return rows;
+    }
+
+    /**
+     * Reads a file by memory-mapping it and parsing chunks in parallel.
+     * The rows, and the bad records passed to badRecords, are in file
+     * order, exactly as read() would return them.
+     *
+     * @param filename The file to read (in the platform charset, like read())
+     * @param parser Parses each record after the header; called from several threads
+     * @param badRecords Receives the text of each record the parser rejected, in file order
+     * @return The parsed rows, in file order
+     * @throws IOException if the file cannot be read
+     */
+    public static <R> List<R> readMapped(String filename, RowParser<R> parser,
+                                         Consumer<String> badRecords) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+            long[] bounds = chunkBounds(channel);
+            Charset charset = Charset.defaultCharset();
+
+            List<Chunk<R>> chunks;
+            try {
+                chunks = IntStream.range(0, bounds.length - 1).parallel()
+                    .mapToObj(i -> parseChunk(map(channel, bounds[i], bounds[i + 1]), i == 0, charset, parser))
+                    .collect(Collectors.toList());
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+            List<R> rows = new ArrayList<>(chunks.stream().mapToInt(chunk -> chunk.rows.size()).sum());
+            for (Chunk<R> chunk : chunks) {
+                rows.addAll(chunk.rows);
+                chunk.bad.forEach(badRecords);
+            }
+            return rows;
+        }
+    }
+
+    /**
+     * Rows and rejected records of one chunk.
+     */
+    private static class Chunk<R> {
+        private final List<R> rows = new ArrayList<>();
+        private final List<String> bad = new ArrayList<>();
+    }
+
+    private static <R> Chunk<R> parseChunk(ByteBuffer bytes, boolean first, Charset charset,
+                                           RowParser<R> parser) {
+        Chunk<R> chunk = new Chunk<>();
+        try (CsvReader reader = new CsvReader(new InputStreamReader(new BufferInputStream(bytes), charset))) {
+            if (first) {
+                reader.nextRecord(); // Skip header
+            }
+            parseAll(reader, parser, chunk.rows, chunk.bad);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return chunk;
+    }
+
+    private static <R> void parseAll(CsvReader reader, RowParser<R> parser,
+                                     List<R> rows, List<String> bad) throws IOException {
+        while (reader.nextRecord()) {
+            try {
+                R row = parser.parse(reader);
+                if (row != null) {
+                    rows.add(row);
+                }
+            } catch (NumberFormatException e) {
+                bad.add(reader.getRecordText());
+            }
+        }
+    }
+
+    /**
+     * Cuts a file into chunks that each start at a record boundary.
+     *
+     * @return The chunk offsets: chunk i is bytes [bounds[i], bounds[i + 1])
+     */
+    private static long[] chunkBounds(FileChannel channel) throws IOException {
+        long size = channel.size();
+        long byParallelism = ForkJoinPool.getCommonPoolParallelism() * 4L;
+        long bySize = (size + MAX_CHUNK_BYTES - 1) / MAX_CHUNK_BYTES;
+        int ranges = (int) Math.max(1, Math.min((size + MIN_CHUNK_BYTES - 1) / MIN_CHUNK_BYTES,
+                                                Math.max(byParallelism, bySize)));
+
+        // Cut evenly first, and count the quotes in each piece
+        long[] starts = new long[ranges + 1];
+        MappedByteBuffer[] pieces = new MappedByteBuffer[ranges];
+        for (int i = 0; i < ranges; i++) {
+            starts[i + 1] = size * (i + 1) / ranges;
+            pieces[i] = channel.map(FileChannel.MapMode.READ_ONLY, starts[i], starts[i + 1] - starts[i]);
+        }
+        int[] quotes = IntStream.range(0, ranges).parallel().map(i -> countQuotes(pieces[i])).toArray();
+
+        // Move each cut forward to just after the first line break outside quotes.
+        // Doubled quotes inside a quoted field count twice, so an odd number of
+        // quotes before a cut means it falls inside a quoted field.
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(0L);
+        boolean inQuotes = false;
+        for (int i = 0; i < ranges; i++) {
+            if (i > 0) {
+                int nextByte = i + 1 < ranges && pieces[i + 1].limit() > 0 ? pieces[i + 1].get(0) : -1;
+                long boundary = nextRecordStart(pieces[i], nextByte, inQuotes);
+                if (boundary >= 0) {
+                    bounds.add(starts[i] + boundary);
+                }
+            }
+            inQuotes ^= (quotes[i] & 1) != 0;
+        }
+        if (bounds.get(bounds.size() - 1) < size || size == 0) {
+            bounds.add(size);
+        }
+
+        long[] result = new long[bounds.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = bounds.get(i);
+        }
+        return result;
+    }
+
+    private static int countQuotes(ByteBuffer piece) {
+        int count = 0;
+        for (int i = 0, n = piece.limit(); i < n; i++) {
+            if (piece.get(i) == '"') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Finds the first record start in a piece, after an LF, a CRLF or a
+     * bare CR outside quotes.
+     *
+     * @param piece The bytes of the piece
+     * @param nextByte The first byte after the piece, or -1 at the end of the file
+     * @param inQuotes true if the piece starts inside a quoted field
+     * @return The offset of the record start in the piece, or -1 if there is none
+     */
+    private static long nextRecordStart(ByteBuffer piece, int nextByte, boolean inQuotes) {
+        for (int i = 0, n = piece.limit(); i < n; i++) {
+            byte b = piece.get(i);
+            if (b == '"') {
+                inQuotes = !inQuotes;
+            } else if (b == '\n' && !inQuotes) {
+                return i + 1;
+            } else if (b == '\r' && !inQuotes) {
+                int after = i + 1 < n ? piece.get(i + 1) : nextByte;
+                if (after != '\n') {
+                    return i + 1;
+                }
+                if (i + 1 == n) {
+                    return -1; // The LF opens the next piece, which cuts right after it
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static ByteBuffer map(FileChannel channel, long start, long end) {
+        try {
+            return channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads the remaining bytes of a buffer as a stream.
+     */
+    private static class BufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        private BufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+    }
+}
@@ -0,0 +1,310 @@
+import java.io.*;
+
+/**
+ * Streaming reader for comma-separated files as described in RFC 4180.
+ * Records are read one at a time with nextRecord(); the fields of the
+ * current record are then read with getString(), getInt() and isEmpty().
+ *
+ * Fields may be enclosed in double quotes, in which case they can hold
+ * commas, line breaks and doubled quotes (""). Lines may end with LF or
+ * CRLF.
+ *
+ * The reader parses straight from its own character buffer into one
+ * reusable record buffer, so reading a record allocates nothing:
+ * numbers are parsed in place and Strings are only created when a field
+ * is read as text. Short text fields go through a small per-reader
+ * string pool, so repeated values such as type names share one String.
+ *
+ * @author Enhanced Pokédex Team
+ * @version 1.0
+ * @since 2024
+ */
+public class CsvReader implements Closeable {
+    /** Size of the input buffer */
+    private static final int BUFFER_SIZE = 1 << 16;
+    /** Number of slots in the string pool (a power of two) */
+    private static final int POOL_SIZE = 1 << 12;
+    /** Longest field that goes through the string pool */
+    private static final int MAX_POOLED_LENGTH = 32;
+
+    /** The underlying input */
+    private final Reader in;
+    /** Characters read from the input but not parsed yet */
+    private final char[] buffer = new char[BUFFER_SIZE];
+    /** Next character to parse in the buffer */
+    private int pos;
+    /** Number of valid characters in the buffer */
+    private int limit;
+
+    /** Unquoted characters of the current record's fields */
+    private char[] record = new char[256];
+    /** Start of each field in the record buffer */
+    private int[] fieldStart = new int[16];
+    /** End (exclusive) of each field in the record buffer */
+    private int[] fieldEnd = new int[16];
+    /** Number of fields in the current record */
+    private int fieldCount;
+    /** 1-based number of the current record */
+    private long recordNumber;
+
+    /** Recently created Strings, indexed by hash */
+    private final String[] pool = new String[POOL_SIZE];
+
+    /**
+     * Constructor that reads from a character stream.
+     * The stream is read in large blocks, so it need not be buffered.
+     *
+     * @param in The input
+     */
+    public CsvReader(Reader in) {
+        this.in = in;
+    }
+
+    /**
+     * Reads the next record.
+     *
+     * @return true if a record was read, false at the end of the input
+     * @throws IOException if the input cannot be read or a quoted field is not closed
+     */
+    public boolean nextRecord() throws IOException {
+        fieldCount = 0;
+        int c = read();
+        if (c < 0) {
+            return false;
+        }
+        recordNumber++;
+
+        int length = 0;
+        while (true) {
+            int start = length;
+            if (c == '"') {
+                while (true) {
+                    c = read();
+                    if (c < 0) {
+                        throw new IOException("Unterminated quoted field in record " + recordNumber);
+                    }
+                    if (c == '"') {
+                        c = read();
+                        if (c != '"') {
+                            break; // Closing quote
+                        }
+                    }
+                    length = append(length, (char) c);
+                }
+            }
+            // Unquoted field, or anything between a closing quote and the next separator
+            while (c >= 0 && c != ',' && c != '\n' && c != '\r') {
+                length = append(length, (char) c);
+                c = read();
+            }
+            addField(start, length);
+
+            if (c == ',') {
+                c = read();
+                continue;
+            }
+            if (c == '\r') {
+                c = read();
+                if (c >= 0 && c != '\n') {
+                    pos--; // Lone CR: keep the next character for the next record
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Gets the number of fields in the current record.
+     * @return The field count
+     */
+    public int getFieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * Gets the number of the current record, counting from 1.
+     * @return The record number
+     */
+    public long getRecordNumber() {
+        return recordNumber;
+    }
+
+    /**
+     * Checks if a field of the current record is empty.
+     *
+     * @param field The field index, from 0
+     * @return true if the field has no characters
+     */
+    public boolean isEmpty(int field) {
+        checkField(field);
+        return fieldStart[field] == fieldEnd[field];
+    }
+
+    /**
+     * Gets a field of the current record as text.
+     *
+     * @param field The field index, from 0
+     * @return The field value without quotes
+     */
+    public String getString(int field) {
+        checkField(field);
+        int start = fieldStart[field];
+        int length = fieldEnd[field] - start;
+        if (length == 0) {
+            return "";
+        }
+        if (length > MAX_POOLED_LENGTH) {
+            return new String(record, start, length);
+        }
+
+        int hash = 0;
+        for (int i = start; i < start + length; i++) {
+            hash = 31 * hash + record[i];
+        }
+        int slot = (hash ^ (hash >>> 16)) & (POOL_SIZE - 1);
+        String pooled = pool[slot];
+        if (pooled != null && pooled.length() == length && regionEquals(pooled, start)) {
+            return pooled;
+        }
+        pooled = new String(record, start, length);
+        pool[slot] = pooled;
+        return pooled;
+    }
+
+    /**
+     * Gets a field of the current record as a whole number, parsed like
+     * Integer.parseInt.
+     *
+     * @param field The field index, from 0
+     * @return The field value
+     * @throws NumberFormatException if the field is not a valid int
+     */
+    public int getInt(int field) {
+        checkField(field);
+        int i = fieldStart[field];
+        int end = fieldEnd[field];
+        if (i == end) {
+            throw new NumberFormatException("Empty field " + field + " in record " + recordNumber);
+        }
+
+        boolean negative = record[i] == '-';
+        if (negative || record[i] == '+') {
+            i++;
+            if (i == end) {
+                throw invalidNumber(field);
+            }
+        }
+        // Accumulate negatively so Integer.MIN_VALUE parses without overflow
+        int bound = negative ? Integer.MIN_VALUE : -Integer.MAX_VALUE;
+        int result = 0;
+        for (; i < end; i++) {
+            int digit = record[i] - '0';
+            if (digit < 0 || digit > 9 || result < bound / 10) {
+                throw invalidNumber(field);
+            }
+            result *= 10;
+            if (result < bound + digit) {
+                throw invalidNumber(field);
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    /**
+     * Rebuilds the text of the current record, for error messages.
+     * @return The fields joined with commas, quoted where needed
+     */
+    public String getRecordText() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < fieldCount; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(escape(new String(record, fieldStart[i], fieldEnd[i] - fieldStart[i])));
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /**
+     * Formats a value as a CSV field, quoting it if it contains a comma,
+     * a double quote or a line break.
+     *
+     * @param value The value (null is written as an empty field)
+     * @return The field text
+     */
+    public static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return '"' + value.replace("\"", "\"\"") + '"';
+            }
+        }
+        return value;
+    }
+
+    private int read() throws IOException {
+        if (pos == limit) {
+            limit = in.read(buffer, 0, BUFFER_SIZE);
+            pos = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[pos++];
+    }
+
+    private int append(int length, char c) {
+        if (length == record.length) {
+            char[] grown = new char[record.length * 2];
+            System.arraycopy(record, 0, grown, 0, length);
+            record = grown;
+        }
+        record[length] = c;
+        return length + 1;
+    }
+
+    private void addField(int start, int end) {
+        if (fieldCount == fieldStart.length) {
+            int[] grownStart = new int[fieldCount * 2];
+            int[] grownEnd = new int[fieldCount * 2];
+            System.arraycopy(fieldStart, 0, grownStart, 0, fieldCount);
+            System.arraycopy(fieldEnd, 0, grownEnd, 0, fieldCount);
+            fieldStart = grownStart;
+            fieldEnd = grownEnd;
+        }
+        fieldStart[fieldCount] = start;
+        fieldEnd[fieldCount] = end;
+        fieldCount++;
+    }
+
+    private boolean regionEquals(String s, int start) {
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) != record[start + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void checkField(int field) {
+        if (field < 0 || field >= fieldCount) {
+            throw new IndexOutOfBoundsException("Field " + field + " of " + fieldCount
+                + " in record " + recordNumber);
+        }
+    }
+
+    private NumberFormatException invalidNumber(int field) {
+        return new NumberFormatException("For input string: \""
+            + new String(record, fieldStart[field], fieldEnd[field] - fieldStart[field]) + "\"");
+    }
+}
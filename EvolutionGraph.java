@@ -0,0 +1,338 @@
+import java.util.*;
+
+/**
+ * Precomputed evolution graph over a species catalog.
+ * This class turns the evolvesFrom/evolvesTo/evolutionLevel fields of
+ * every species into dense arrays, so that evolution family queries do
+ * not need repeated species lookups. Species are numbered by compact
+ * indexes in ascending Pokédex order, so the arrays stay as small as
+ * the catalog however large the Pokédex numbers are.
+ *
+ * For every species the graph stores:
+ * - The root of its evolution family and its depth below that root
+ * - Its position in the family, with all descendants stored contiguously
+ * - The species it evolves into by leveling up
+ *
+ * Broken data is detected while the graph is built. References to
+ * unknown species, conflicting evolution links and evolution cycles
+ * are dropped and reported through getProblems().
+ *
+ * @author Enhanced Pokédex Team
+ * @version 1.0
+ * @since 2024
+ */
+public class EvolutionGraph {
+    /** Compact index of each Pokédex number in the graph */
+    private Map<Integer, Integer> indexes = new HashMap<>();
+    /** Species by compact index, in ascending Pokédex order */
+    private Pokemon[] species;
+    /** Index of the pre-evolution of each species (-1 if none) */
+    private int[] parent;
+    /** Index of the species each species evolves into by level up (-1 if none) */
+    private int[] next;
+    /** Index of the first species of each family */
+    private int[] root;
+    /** Number of evolution stages between each species and its root */
+    private int[] depth;
+    /** Index into families of the family each species belongs to */
+    private int[] familyId;
+    /** Position of each species within its family list */
+    private int[] familyPos;
+    /** Number of species in the subtree rooted at each species (including itself) */
+    private int[] subtreeSize;
+    /** All families, each listed root first with descendants stored contiguously */
+    private List<List<Pokemon>> families = new ArrayList<>();
+    /** Problems found in the evolution data while building the graph */
+    private List<String> problems = new ArrayList<>();
+
+    /**
+     * Constructor that builds the graph from a species catalog.
+     * When several species share a Pokédex number the first one is used.
+     *
+     * @param catalog The species to build the graph from
+     */
+    public EvolutionGraph(Collection<Pokemon> catalog) {
+        // First species of each valid Pokédex number, in ascending order
+        TreeMap<Integer, Pokemon> byNumber = new TreeMap<>();
+        for (Pokemon pokemon : catalog) {
+            int number = pokemon.getPokedexNumber();
+            if (number < 0) {
+                problems.add(pokemon.getName() + " has an invalid Pokédex number " + number);
+            } else {
+                byNumber.putIfAbsent(number, pokemon);
+            }
+        }
+
+        int size = byNumber.size();
+        species = new Pokemon[size];
+        parent = new int[size];
+        next = new int[size];
+        root = new int[size];
+        depth = new int[size];
+        familyId = new int[size];
+        familyPos = new int[size];
+        subtreeSize = new int[size];
+        Arrays.fill(parent, -1);
+        Arrays.fill(next, -1);
+        Arrays.fill(root, -1);
+        Arrays.fill(depth, -1);
+        Arrays.fill(familyId, -1);
+
+        for (Pokemon pokemon : byNumber.values()) {
+            indexes.put(pokemon.getPokedexNumber(), indexes.size());
+            species[indexes.size() - 1] = pokemon;
+        }
+
+        linkPreEvolutions();
+        linkEvolutions();
+        breakCycles();
+        buildFamilies();
+    }
+
+    /**
+     * Resolves each species' evolvesFrom reference into a parent link.
+     */
+    private void linkPreEvolutions() {
+        for (int i = 0; i < species.length; i++) {
+            int from = species[i].getEvolvesFrom();
+            if (from == -1) continue;
+
+            int fromIndex = indexOf(from);
+            if (fromIndex == i) {
+                problems.add(species[i].getName() + " evolves from itself");
+            } else if (fromIndex == -1) {
+                problems.add(species[i].getName() + " evolves from unknown Pokédex #" + from);
+            } else {
+                parent[i] = fromIndex;
+            }
+        }
+    }
+
+    /**
+     * Resolves each species' evolvesTo reference into a level-up link.
+     * A link is only kept if it agrees with the evolved form's parent.
+     */
+    private void linkEvolutions() {
+        for (int i = 0; i < species.length; i++) {
+            int to = species[i].getEvolvesTo();
+            if (to == -1) continue;
+
+            int toIndex = indexOf(to);
+            if (toIndex == i) {
+                problems.add(species[i].getName() + " evolves to itself");
+            } else if (toIndex == -1) {
+                problems.add(species[i].getName() + " evolves to unknown Pokédex #" + to);
+            } else if (parent[toIndex] == -1 || parent[toIndex] == i) {
+                parent[toIndex] = i;
+                next[i] = toIndex;
+            } else {
+                problems.add(species[i].getName() + " evolves to " + species[toIndex].getName()
+                             + ", which already evolves from " + species[parent[toIndex]].getName());
+            }
+        }
+    }
+
+    /**
+     * Detects cycles in the parent links and cuts one link of each cycle.
+     */
+    private void breakCycles() {
+        // 0 = unvisited, 1 = on the current path, 2 = done
+        byte[] state = new byte[species.length];
+        List<Integer> path = new ArrayList<>();
+
+        for (int i = 0; i < species.length; i++) {
+            if (state[i] != 0) continue;
+
+            path.clear();
+            int current = i;
+            while (current != -1 && state[current] == 0) {
+                state[current] = 1;
+                path.add(current);
+                current = parent[current];
+            }
+
+            if (current != -1 && state[current] == 1) {
+                int last = path.get(path.size() - 1);
+                problems.add("Evolution cycle between " + species[current].getName()
+                             + " and " + species[last].getName());
+                parent[last] = -1;
+                if (next[current] == last) {
+                    next[current] = -1;
+                }
+            }
+
+            for (int visited : path) {
+                state[visited] = 2;
+            }
+        }
+    }
+
+    /**
+     * Lays out every family in pre-order and records root, depth,
+     * position and subtree size for each species.
+     */
+    private void buildFamilies() {
+        // Children as linked lists in ascending Pokédex order
+        int[] firstChild = new int[species.length];
+        int[] nextSibling = new int[species.length];
+        Arrays.fill(firstChild, -1);
+        Arrays.fill(nextSibling, -1);
+        for (int i = species.length - 1; i >= 0; i--) {
+            if (parent[i] != -1) {
+                nextSibling[i] = firstChild[parent[i]];
+                firstChild[parent[i]] = i;
+            }
+        }
+
+        Deque<Integer> stack = new ArrayDeque<>();
+        for (int start = 0; start < species.length; start++) {
+            if (parent[start] != -1) continue;
+
+            List<Integer> order = new ArrayList<>();
+            stack.push(start);
+            while (!stack.isEmpty()) {
+                int current = stack.pop();
+                root[current] = start;
+                depth[current] = current == start ? 0 : depth[parent[current]] + 1;
+                familyId[current] = families.size();
+                familyPos[current] = order.size();
+                order.add(current);
+
+                // Push children in reverse so they are visited in ascending order
+                List<Integer> children = new ArrayList<>();
+                for (int child = firstChild[current]; child != -1; child = nextSibling[child]) {
+                    children.add(child);
+                }
+                for (int i = children.size() - 1; i >= 0; i--) {
+                    stack.push(children.get(i));
+                }
+            }
+
+            List<Pokemon> family = new ArrayList<>(order.size());
+            for (int member : order) {
+                family.add(species[member]);
+                subtreeSize[member] = 1;
+            }
+            for (int i = order.size() - 1; i > 0; i--) {
+                int member = order.get(i);
+                subtreeSize[parent[member]] += subtreeSize[member];
+            }
+            families.add(Collections.unmodifiableList(family));
+        }
+    }
+
+    /**
+     * Checks if a species is part of this graph.
+     *
+     * @param pokedexNumber The Pokédex number to check
+     * @return true if the species exists, false otherwise
+     */
+    public boolean contains(int pokedexNumber) {
+        return indexes.containsKey(pokedexNumber);
+    }
+
+    /**
+     * Gets the compact index of a species, or -1 if it is not in the graph
+     */
+    private int indexOf(int pokedexNumber) {
+        Integer index = indexes.get(pokedexNumber);
+        return index != null ? index : -1;
+    }
+
+    /**
+     * Gets the first species of the family a species belongs to.
+     *
+     * @param pokedexNumber The Pokédex number of the species
+     * @return The root species, or null if the species is unknown
+     */
+    public Pokemon getRoot(int pokedexNumber) {
+        int index = indexOf(pokedexNumber);
+        return index != -1 ? species[root[index]] : null;
+    }
+
+    /**
+     * Gets the number of evolution stages between a species and its root.
+     *
+     * @param pokedexNumber The Pokédex number of the species
+     * @return The depth (0 for a root), or -1 if the species is unknown
+     */
+    public int getDepth(int pokedexNumber) {
+        int index = indexOf(pokedexNumber);
+        return index != -1 ? depth[index] : -1;
+    }
+
+    /**
+     * Gets all members of the family a species belongs to, root first.
+     *
+     * @param pokedexNumber The Pokédex number of the species
+     * @return Read-only list of the family, or an empty list if the species is unknown
+     */
+    public List<Pokemon> getFamily(int pokedexNumber) {
+        int index = indexOf(pokedexNumber);
+        if (index == -1) {
+            return Collections.emptyList();
+        }
+        return families.get(familyId[index]);
+    }
+
+    /**
+     * Gets every species a species can eventually evolve into.
+     *
+     * @param pokedexNumber The Pokédex number of the species
+     * @return Read-only list of descendants, or an empty list if there are none
+     */
+    public List<Pokemon> getDescendants(int pokedexNumber) {
+        int index = indexOf(pokedexNumber);
+        if (index == -1) {
+            return Collections.emptyList();
+        }
+        int start = familyPos[index];
+        return families.get(familyId[index]).subList(start + 1, start + subtreeSize[index]);
+    }
+
+    /**
+     * Gets the species passed through when a Pokémon of the given species
+     * reaches the given level, following level-up evolutions.
+     *
+     * @param pokedexNumber The Pokédex number of the current species
+     * @param level The level that has been reached
+     * @return Each evolved form in order, or an empty list if no evolution happens
+     */
+    public List<Pokemon> getLevelEvolutionPath(int pokedexNumber, int level) {
+        int current = indexOf(pokedexNumber);
+        if (current == -1) {
+            return Collections.emptyList();
+        }
+
+        List<Pokemon> path = new ArrayList<>();
+        while (next[current] != -1 && level >= species[current].getEvolutionLevel()) {
+            current = next[current];
+            path.add(species[current]);
+        }
+        return path;
+    }
+
+    /**
+     * Gets the final form a species reaches at the given level.
+     *
+     * @param pokedexNumber The Pokédex number of the current species
+     * @param level The level that has been reached
+     * @return The final form (the species itself if it does not evolve), or null if unknown
+     */
+    public Pokemon getFinalFormAtLevel(int pokedexNumber, int level) {
+        List<Pokemon> path = getLevelEvolutionPath(pokedexNumber, level);
+        if (path.isEmpty()) {
+            int index = indexOf(pokedexNumber);
+            return index != -1 ? species[index] : null;
+        }
+        return path.get(path.size() - 1);
+    }
+
+    /**
+     * Gets the problems found in the evolution data while building the graph.
+     * @return Read-only list of problem descriptions
+     */
+    public List<String> getProblems() {
+        return Collections.unmodifiableList(problems);
+    }
+}
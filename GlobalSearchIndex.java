@@ -0,0 +1,249 @@
+import java.util.*;
+
+/**
+ * Combined word index over Pokémon, moves, items and trainers for the
+ * global search. Every entity becomes one document; each normalized
+ * word of its fields is posted with the weight of the field it came
+ * from (name over types and categories over descriptions). A query
+ * matches the documents that contain every query word, either whole or
+ * as a prefix, and documents are ranked by the summed field weights,
+ * whole words counting more than prefixes, with a bonus when the name
+ * itself equals or starts with the query.
+ *
+ * Whole-word matches are always scored; prefix expansions stop once a
+ * time budget is spent, so a search returns within a bounded time even
+ * for very short prefixes over large catalogs.
+ *
+ * The index is a snapshot of the lists it was built from;
+ * PokemonModel rebuilds it after any of the lists change.
+ *
+ * @author Enhanced Pokédex Team
+ * @version 1.0
+ * @since 2024
+ */
+public class GlobalSearchIndex {
+    /** Weight of words from the name */
+    private static final int NAME_WEIGHT = 4;
+    /** Weight of words from short tag fields (types, category, classification, hometown, ID) */
+    private static final int TAG_WEIGHT = 2;
+    /** Weight of words from descriptions and effects */
+    private static final int TEXT_WEIGHT = 1;
+    /** Share of a field weight earned when a query word is only a prefix of the word */
+    private static final float PREFIX_FACTOR = 0.5f;
+    /** Bonus when the whole name equals the query */
+    private static final float EXACT_NAME_BONUS = 8;
+    /** Bonus when the name starts with the query */
+    private static final float NAME_PREFIX_BONUS = 4;
+    /** Maximum number of indexed words a query word is expanded to as a prefix */
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    /**
+     * Sorted document ids of a word, with the best field weight in each document.
+     */
+    private static class WeightedPostings {
+        private int[] ids = new int[4];
+        private byte[] weights = new byte[4];
+        private int size;
+
+        void add(int id, int weight) {
+            // Documents are added in id order, so repeats are always at the end
+            if (size > 0 && ids[size - 1] == id) {
+                weights[size - 1] = (byte) Math.max(weights[size - 1], weight);
+                return;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            ids[size] = id;
+            weights[size] = (byte) weight;
+            size++;
+        }
+    }
+
+    /** Kind of each document */
+    private final SearchHit.Kind[] kinds;
+    /** Entity of each document */
+    private final Object[] entities;
+    /** Name of each document */
+    private final String[] names;
+    /** Normalized name of each document */
+    private final String[] nameKeys;
+    /** Number of documents added so far */
+    private int docCount;
+    /** Postings of each normalized word */
+    private final Map<String, WeightedPostings> postings = new HashMap<>();
+    /** Every indexed word, sorted, for prefix expansion */
+    private final String[] sortedWords;
+
+    /**
+     * Constructor that indexes the four entity lists.
+     *
+     * @param pokemonList The Pokémon species
+     * @param moveList The moves
+     * @param itemList The items
+     * @param trainerList The trainers
+     */
+    public GlobalSearchIndex(List<Pokemon> pokemonList, List<Move> moveList,
+                             List<Item> itemList, List<Trainer> trainerList) {
+        int total = pokemonList.size() + moveList.size() + itemList.size() + trainerList.size();
+        kinds = new SearchHit.Kind[total];
+        entities = new Object[total];
+        names = new String[total];
+        nameKeys = new String[total];
+
+        for (Pokemon pokemon : pokemonList) {
+            int doc = addDocument(SearchHit.Kind.POKEMON, pokemon, pokemon.getName());
+            addField(doc, pokemon.getType1(), TAG_WEIGHT);
+            addField(doc, pokemon.getType2(), TAG_WEIGHT);
+        }
+        for (Move move : moveList) {
+            int doc = addDocument(SearchHit.Kind.MOVE, move, move.getName());
+            addField(doc, move.getClassification(), TAG_WEIGHT);
+            addField(doc, move.getType1(), TAG_WEIGHT);
+            addField(doc, move.getType2(), TAG_WEIGHT);
+            addField(doc, move.getDescription(), TEXT_WEIGHT);
+        }
+        for (Item item : itemList) {
+            int doc = addDocument(SearchHit.Kind.ITEM, item, item.getName());
+            addField(doc, item.getCategory(), TAG_WEIGHT);
+            addField(doc, item.getDescription(), TEXT_WEIGHT);
+            addField(doc, item.getEffect(), TEXT_WEIGHT);
+        }
+        for (Trainer trainer : trainerList) {
+            int doc = addDocument(SearchHit.Kind.TRAINER, trainer, trainer.getName());
+            addField(doc, String.valueOf(trainer.getTrainerID()), TAG_WEIGHT);
+            addField(doc, trainer.getHometown(), TAG_WEIGHT);
+            addField(doc, trainer.getDescription(), TEXT_WEIGHT);
+        }
+
+        sortedWords = postings.keySet().toArray(new String[0]);
+        Arrays.sort(sortedWords);
+    }
+
+    private int addDocument(SearchHit.Kind kind, Object entity, String name) {
+        int doc = docCount++;
+        kinds[doc] = kind;
+        entities[doc] = entity;
+        names[doc] = name;
+        nameKeys[doc] = name != null ? SearchKey.normalize(name) : "";
+        addField(doc, name, NAME_WEIGHT);
+        return doc;
+    }
+
+    private void addField(int doc, String text, int weight) {
+        if (text == null) {
+            return;
+        }
+        for (String word : TokenIndex.tokenize(SearchKey.normalize(text))) {
+            postings.computeIfAbsent(word, w -> new WeightedPostings()).add(doc, weight);
+        }
+    }
+
+    /**
+     * Finds the best matching entities of every kind.
+     *
+     * @param query The words to look for (the last one may be partially typed)
+     * @param limit The maximum number of hits
+     * @param budgetNanos Time after which prefix expansion stops
+     * @return Up to limit hits, best first (ties keep Pokémon, move, item, trainer order)
+     */
+    public List<SearchHit> search(String query, int limit, long budgetNanos) {
+        long deadline = System.nanoTime() + budgetNanos;
+        List<String> words = TokenIndex.tokenize(SearchKey.normalize(query));
+        List<SearchHit> results = new ArrayList<>();
+        if (words.isEmpty() || limit <= 0) {
+            return results;
+        }
+
+        float[] scores = new float[docCount];
+        float[] best = new float[docCount];
+        // Number of query words each document has matched so far
+        int[] matched = new int[docCount];
+        List<Integer> candidates = new ArrayList<>();
+
+        for (int w = 0; w < words.size(); w++) {
+            String word = words.get(w);
+            int expansions = 0;
+            for (int i = lowerBound(word); i < sortedWords.length && sortedWords[i].startsWith(word); i++) {
+                boolean whole = sortedWords[i].length() == word.length();
+                // The whole word sorts first, so it is always scored
+                if (!whole && (++expansions > MAX_PREFIX_EXPANSIONS || System.nanoTime() > deadline)) {
+                    break;
+                }
+                float factor = whole ? 1f : PREFIX_FACTOR;
+                WeightedPostings list = postings.get(sortedWords[i]);
+                for (int p = 0; p < list.size; p++) {
+                    int doc = list.ids[p];
+                    float value = list.weights[p] * factor;
+                    if (matched[doc] == w) {
+                        // First match of this word; only documents that matched every earlier word count
+                        matched[doc] = w + 1;
+                        best[doc] = value;
+                        if (w == 0) {
+                            candidates.add(doc);
+                        }
+                    } else if (matched[doc] == w + 1 && value > best[doc]) {
+                        best[doc] = value;
+                    }
+                }
+            }
+            for (int doc : candidates) {
+                if (matched[doc] == w + 1) {
+                    scores[doc] += best[doc];
+                }
+            }
+        }
+
+        // Keep the top hits in a min-heap (lowest score, then latest document, on top)
+        String queryKey = SearchKey.normalize(query.trim());
+        PriorityQueue<Integer> top = new PriorityQueue<>((a, b) ->
+            scores[a] != scores[b] ? Float.compare(scores[a], scores[b]) : Integer.compare(b, a));
+        for (int doc : candidates) {
+            if (matched[doc] != words.size()) {
+                continue;
+            }
+            if (nameKeys[doc].equals(queryKey)) {
+                scores[doc] += EXACT_NAME_BONUS;
+            } else if (nameKeys[doc].startsWith(queryKey)) {
+                scores[doc] += NAME_PREFIX_BONUS;
+            }
+            top.add(doc);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        while (!top.isEmpty()) {
+            int doc = top.poll();
+            results.add(new SearchHit(kinds[doc], entities[doc], names[doc], scores[doc]));
+        }
+        Collections.reverse(results);
+        return results;
+    }
+
+    /**
+     * Gets the number of indexed entities.
+     * @return The number of documents
+     */
+    public int size() {
+        return docCount;
+    }
+
+    /**
+     * Finds the first position whose word is not less than a word.
+     */
+    private int lowerBound(String word) {
+        int lo = 0;
+        int hi = sortedWords.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sortedWords[mid].compareTo(word) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+}
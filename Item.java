@@ -29,6 +29,10 @@ public class Item {
     private int buyingPrice;
     /** The price received when selling this item to a shop */
     private int sellingPrice;
+    /** Cached normalized search key (null until first needed) */
+    private String searchKey;
+    /** Called after a searched field changes (provided by the owning model) */
+    private Runnable editListener;
     
     /**
      * Constructor for creating a new item.
@@ -95,25 +99,37 @@ public class Item {
      * Sets the name of the item.
      * @param name The new name for the item
      */
-    public void setName(String name) { this.name = name; }
+    public void setName(String name) { 
+        this.name = name; 
+        searchFieldsChanged();
+    }
     
     /**
      * Sets the category of the item.
      * @param category The new category for the item
      */
-    public void setCategory(String category) { this.category = category; }
+    public void setCategory(String category) { 
+        this.category = category; 
+        searchFieldsChanged();
+    }
     
     /**
      * Sets the description of the item.
      * @param description The new description for the item
      */
-    public void setDescription(String description) { this.description = description; }
+    public void setDescription(String description) { 
+        this.description = description; 
+        searchFieldsChanged();
+    }
     
     /**
      * Sets the effect description of the item.
      * @param effect The new effect description for the item
      */
-    public void setEffect(String effect) { this.effect = effect; }
+    public void setEffect(String effect) { 
+        this.effect = effect; 
+        searchFieldsChanged();
+    }
     
     /**
      * Sets the buying price of the item.
@@ -139,20 +155,56 @@ public class Item {
                category.equals("Poké Ball");
     }
     
+    /**
+     * Sets the callback run after a searched field of this item changes,
+     * so the owning model can update its search indexes.
+     * @param editListener The callback, or null
+     */
+    public void setEditListener(Runnable editListener) { this.editListener = editListener; }
+    
+    /**
+     * Resets the search key and notifies the edit listener
+     */
+    private void searchFieldsChanged() {
+        searchKey = null;
+        if (editListener != null) {
+            editListener.run();
+        }
+    }
+    
+    /**
+     * Gets the normalized search key of the item (see SearchKey).
+     * The key is computed on first use and reset by the setters.
+     * @return The normalized name, category, description and effect
+     */
+    public String getSearchKey() {
+        if (searchKey == null) {
+            searchKey = SearchKey.of(name, category, description, effect);
+        }
+        return searchKey;
+    }
+    
     /**
      * Checks if this item matches a search query.
-     * Performs a case-insensitive search across all item properties
-     * including name, category, description, and effect.
+     * Performs a case- and accent-insensitive search across all item
+     * properties including name, category, description, and effect.
      * 
      * @param query The search query to match against
      * @return true if the item matches the query, false otherwise
      */
     public boolean matchesSearch(String query) {
-        String lowerQuery = query.toLowerCase();
-        return name.toLowerCase().contains(lowerQuery) ||
-               category.toLowerCase().contains(lowerQuery) ||
-               description.toLowerCase().contains(lowerQuery) ||
-               effect.toLowerCase().contains(lowerQuery);
+        return matchesNormalizedSearch(SearchKey.normalize(query));
+    }
+    
+    /**
+     * Checks if this item matches a query that is already normalized.
+     * Lets a search over many items normalize the query only once.
+     * 
+     * @param normalizedQuery The query, normalized with SearchKey.normalize
+     * @return true if the item matches the query, false otherwise
+     */
+    public boolean matchesNormalizedSearch(String normalizedQuery) {
+        return getSearchKey().contains(normalizedQuery);
     }
     
     /**
@@ -29,6 +29,8 @@ public class ItemsPanel extends JPanel {
     private JTable itemsTable;
     /** Model for the items table */
     private DefaultTableModel tableModel;
+    /** Fills the table with paged search results */
+    private PagedTableLoader<Item> pageLoader;
     /** Text field for search input */
     private JTextField searchField;
     /** Text area for displaying detailed item information */
@@ -107,6 +109,9 @@ public class ItemsPanel extends JPanel {
         searchButton.setFont(pokeFont(12f));
         searchField.setFont(pokeFont(12f));
         
+        // Name completions under the search field (added before the Enter key listener)
+        new AutocompletePopup(searchField, controller::completeItemNames, this::searchItems);
+        
         // Add listeners
         addListeners();
     }
@@ -127,6 +132,7 @@ public class ItemsPanel extends JPanel {
         
         // Add table with scroll pane
         JScrollPane tableScrollPane = new JScrollPane(itemsTable);
+        pageLoader = new PagedTableLoader<>(tableModel, this::itemRow, tableScrollPane);
         tableScrollPane.setPreferredSize(new Dimension(600, 300));
         centerPanel.add(tableScrollPane, BorderLayout.CENTER);
         
@@ -166,6 +172,7 @@ public class ItemsPanel extends JPanel {
     }
     
     private void loadItemsData() {
+        pageLoader.stop();
         tableModel.setRowCount(0);
         List<Item> itemsList = controller.getAllItems();
         
@@ -188,21 +195,38 @@ public class ItemsPanel extends JPanel {
             return;
         }
         
-        List<Item> results = controller.searchItems(query);
+        if (!StructuredQuery.looksStructured(query)) {
+            // Plain searches fetch one page at a time as the table scrolls
+            pageLoader.start((offset, limit) -> controller.searchItemsPage(query, offset, limit));
+            return;
+        }
+        
+        // Structured query such as name:char* or field>value
+        List<Item> results;
+        try {
+            results = controller.queryItems(query);
+        } catch (IllegalArgumentException ex) {
+            JOptionPane.showMessageDialog(this, "Invalid query: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        pageLoader.stop();
         tableModel.setRowCount(0);
         
         for (Item item : results) {
-            Object[] row = {
-                item.getName(),
-                item.getCategory(),
-                item.getBuyingPrice() == 0 ? "Not sold" : "₽" + item.getBuyingPrice(),
-                "₽" + item.getSellingPrice(),
-                item.getEffect()
-            };
-            tableModel.addRow(row);
+            tableModel.addRow(itemRow(item));
         }
     }
     
+    private Object[] itemRow(Item item) {
+        return new Object[] {
+            item.getName(),
+            item.getCategory(),
+            item.getBuyingPrice() == 0 ? "Not sold" : "₽" + item.getBuyingPrice(),
+            "₽" + item.getSellingPrice(),
+            item.getEffect()
+        };
+    }
+    
     private void showAddItemDialog() {
         JDialog dialog = new JDialog((Frame) SwingUtilities.getWindowAncestor(this), "Add New Item", true);
         dialog.setLayout(new BorderLayout());
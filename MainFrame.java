@@ -1,6 +1,7 @@
 import javax.swing.*;
 import java.awt.*;
 import java.io.File;
+import java.util.List;
 
 /**
  * Main GUI frame for the Enhanced Pokédex System.
@@ -10,6 +11,7 @@ import java.io.File;
  * The MainFrame:
  * - Creates and manages the main application window
  * - Contains a tabbed interface for different sections (Pokémon, Moves, Items, Trainers)
+ * - Provides a global search bar over all sections
  * - Handles window events and application lifecycle
  * - Manages the overall layout and appearance of the application
  * 
@@ -32,6 +34,11 @@ public class MainFrame extends JFrame {
     private ItemsPanel itemsPanel;
     /** Panel for trainer management */
     private TrainersPanel trainersPanel;
+    /** Text field for the global search */
+    private JTextField globalSearchField;
+    
+    /** Maximum number of global search results shown */
+    private static final int GLOBAL_SEARCH_LIMIT = 25;
     
     /** Background color for the Pokédex theme */
     private static final Color POKEDEX_BG = new Color(248, 248, 255);
@@ -127,6 +134,7 @@ public class MainFrame extends JFrame {
             // Save current data to CSV files
             controller.savePokemonToCSV("pokemon_data.csv");
             controller.saveMovesToCSV("moves_data.csv");
+            controller.saveSnapshot("pokedex.snapshot");
             System.out.println("Data saved successfully on exit.");
         } catch (Exception e) {
             System.err.println("Failed to save data on exit: " + e.getMessage());
@@ -197,10 +205,83 @@ public class MainFrame extends JFrame {
         titlePanel.add(subtitleLabel, BorderLayout.SOUTH);
         
         panel.add(titlePanel, BorderLayout.CENTER);
+        panel.add(createGlobalSearchPanel(), BorderLayout.EAST);
+        
+        return panel;
+    }
+    
+    private JPanel createGlobalSearchPanel() {
+        JPanel panel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        panel.setOpaque(false);
+        
+        globalSearchField = new JTextField(16);
+        globalSearchField.setToolTipText("Search Pokémon, moves, items and trainers");
+        JButton searchButton = new JButton("Search All");
         
+        searchButton.addActionListener(e -> showGlobalSearchResults());
+        globalSearchField.addActionListener(e -> showGlobalSearchResults());
+        
+        panel.add(globalSearchField);
+        panel.add(searchButton);
         return panel;
     }
     
+    private void showGlobalSearchResults() {
+        String query = globalSearchField.getText().trim();
+        if (query.isEmpty()) {
+            return;
+        }
+        
+        List<SearchHit> hits = controller.globalSearch(query, GLOBAL_SEARCH_LIMIT);
+        if (hits.isEmpty()) {
+            JOptionPane.showMessageDialog(this, "No results found for \"" + query + "\".",
+                "Global Search", JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+        
+        JDialog dialog = new JDialog(this, "Global Search: " + query, true);
+        dialog.setLayout(new BorderLayout());
+        
+        JList<SearchHit> hitList = new JList<>(hits.toArray(new SearchHit[0]));
+        hitList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        JTextArea detailsArea = new JTextArea(10, 40);
+        detailsArea.setEditable(false);
+        
+        // Show the details of the selected hit
+        hitList.addListSelectionListener(e -> {
+            SearchHit hit = hitList.getSelectedValue();
+            detailsArea.setText(hit != null ? hit.getEntity().toString() : "");
+            detailsArea.setCaretPosition(0);
+        });
+        
+        // Double-click opens the tab the hit belongs to
+        hitList.addMouseListener(new java.awt.event.MouseAdapter() {
+            @Override
+            public void mouseClicked(java.awt.event.MouseEvent e) {
+                if (e.getClickCount() == 2 && hitList.getSelectedValue() != null) {
+                    tabbedPane.setSelectedIndex(hitList.getSelectedValue().getKind().ordinal());
+                    dialog.dispose();
+                }
+            }
+        });
+        hitList.setSelectedIndex(0);
+        
+        JButton closeButton = new JButton("Close");
+        closeButton.addActionListener(e -> dialog.dispose());
+        JPanel buttonPanel = new JPanel();
+        buttonPanel.add(closeButton);
+        
+        JSplitPane splitPane = new JSplitPane(JSplitPane.VERTICAL_SPLIT,
+            new JScrollPane(hitList), new JScrollPane(detailsArea));
+        splitPane.setResizeWeight(0.5);
+        
+        dialog.add(splitPane, BorderLayout.CENTER);
+        dialog.add(buttonPanel, BorderLayout.SOUTH);
+        dialog.setSize(500, 450);
+        dialog.setLocationRelativeTo(this);
+        dialog.setVisible(true);
+    }
+    
     private JPanel createStatusPanel() {
         JPanel panel = new JPanel();
         panel.setBackground(new Color(236, 240, 241));
@@ -0,0 +1,509 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.zip.CRC32;
+
+/**
+ * Binary snapshot of a PokemonModel's Pokémon, moves, items and
+ * trainers, including the per-instance state of every Pokémon (level,
+ * current stats, moves, held item and EVs) and of every trainer
+ * (ID, money, lineup, storage and inventory).
+ *
+ * File layout (big-endian):
+ * - header: magic "PKDXSNAP", format version, payload length, the
+ *   CRC-32 of the payload and the journal sequence number (the last
+ *   TrainerJournal record the snapshot includes)
+ * - string dictionary: count, then each distinct string once as a byte
+ *   length and its UTF-8 bytes; everywhere else strings are dictionary
+ *   ids, with -1 for null
+ * - moves, items, species, Pokémon instances and trainers, each as a row
+ *   count followed by fixed-width int columns
+ *
+ * Pokémon instances are stored in a fixed order (the species list, then
+ * each trainer's lineup and storage), so trainers only store counts.
+ * Moves and items referenced by a Pokémon or trainer but missing from
+ * the model's lists are stored after the listed ones.
+ *
+ * A snapshot is encoded in memory first, so it can be taken while the
+ * model is consistent and written to disk later. It is written with a
+ * single channel write to a temporary file that then replaces the
+ * target, and read through a mapped buffer.
+ *
+ * @author Enhanced Pokédex Team
+ * @version 1.0
+ * @since 2024
+ */
+public class ModelSnapshot {
+    /** "PKDXSNAP" in ASCII */
+    private static final long MAGIC = 0x504B4458534E4150L;
+    /** Version of the file layout; files with another version are rejected */
+    public static final int FORMAT_VERSION = 2;
+    /** Bytes before the payload: magic, version, payload length, CRC, journal sequence */
+    private static final int HEADER_BYTES = 8 + 4 + 4 + 8 + 8;
+
+    private static final int MOVE_COLUMNS = 5;
+    private static final int ITEM_COLUMNS = 6;
+    private static final int SPECIES_COLUMNS = 12;
+    /** Species, level, 4 stats, move count, 4 moves, held item, 5 EVs */
+    private static final int POKEMON_COLUMNS = 18;
+    private static final int TRAINER_COLUMNS = 10;
+
+    private final List<Pokemon> pokemon;
+    private final List<Move> moves;
+    private final List<Item> items;
+    private final List<Trainer> trainers;
+    /** Sequence number of the last journal record included (0 for none) */
+    private final long journalSequence;
+
+    /**
+     * Constructor for a snapshot of model lists.
+     *
+     * @param pokemon The species list
+     * @param moves The move list
+     * @param items The item list
+     * @param trainers The trainer list
+     * @param journalSequence The last journal record the lists include (0 for none)
+     */
+    public ModelSnapshot(List<Pokemon> pokemon, List<Move> moves, List<Item> items, List<Trainer> trainers,
+                         long journalSequence) {
+        this.pokemon = pokemon;
+        this.moves = moves;
+        this.items = items;
+        this.trainers = trainers;
+        this.journalSequence = journalSequence;
+    }
+
+    public List<Pokemon> getPokemon() { return pokemon; }
+    public List<Move> getMoves() { return moves; }
+    public List<Item> getItems() { return items; }
+    public List<Trainer> getTrainers() { return trainers; }
+    public long getJournalSequence() { return journalSequence; }
+
+    /**
+     * Writes the snapshot to a file, replacing it.
+     *
+     * @param filename The file to write
+     * @throws IOException if the file cannot be written or the snapshot is too large
+     */
+    public void write(String filename) throws IOException {
+        writeFile(encode(), filename);
+    }
+
+    /**
+     * Encodes the snapshot. The lists must not change while this runs,
+     * but may change as soon as it returns.
+     *
+     * @return The file contents, ready for writeFile()
+     * @throws IOException if the snapshot is too large
+     */
+    public ByteBuffer encode() throws IOException {
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        IntWriter ints = new IntWriter();
+
+        // Moves and items: the listed ones first, then any others referenced
+        List<Move> moveTable = new ArrayList<>(moves);
+        List<Item> itemTable = new ArrayList<>(items);
+        List<Species> speciesTable = new ArrayList<>();
+        List<Pokemon> instances = new ArrayList<>(pokemon);
+        for (Trainer trainer : trainers) {
+            instances.addAll(Arrays.asList(trainer.getLineup()).subList(0, trainer.getLineupCount()));
+            instances.addAll(Arrays.asList(trainer.getStorage()).subList(0, trainer.getStorageCount()));
+        }
+        Map<Move, Integer> moveIds = ids(moveTable);
+        Map<Item, Integer> itemIds = ids(itemTable);
+        Map<Species, Integer> speciesIds = new IdentityHashMap<>();
+        for (Pokemon p : instances) {
+            if (speciesIds.putIfAbsent(p.getSpecies(), speciesTable.size()) == null) {
+                speciesTable.add(p.getSpecies());
+            }
+            for (int i = 0; i < p.getMoveCount(); i++) {
+                addRef(p.getMoveSet()[i], moveTable, moveIds);
+            }
+            addRef(p.getHeldItem(), itemTable, itemIds);
+        }
+        for (Trainer trainer : trainers) {
+            for (int i = 0; i < trainer.getUniqueItemCount(); i++) {
+                addRef(trainer.getUniqueItems()[i], itemTable, itemIds);
+            }
+        }
+
+        int[][] columns = new int[MOVE_COLUMNS][moveTable.size()];
+        for (int row = 0; row < moveTable.size(); row++) {
+            Move move = moveTable.get(row);
+            columns[0][row] = stringId(move.getName(), strings);
+            columns[1][row] = stringId(move.getDescription(), strings);
+            columns[2][row] = stringId(move.getClassification(), strings);
+            columns[3][row] = stringId(move.getType1(), strings);
+            columns[4][row] = stringId(move.getType2(), strings);
+        }
+        ints.table(moves.size(), columns);
+
+        columns = new int[ITEM_COLUMNS][itemTable.size()];
+        for (int row = 0; row < itemTable.size(); row++) {
+            Item item = itemTable.get(row);
+            columns[0][row] = stringId(item.getName(), strings);
+            columns[1][row] = stringId(item.getCategory(), strings);
+            columns[2][row] = stringId(item.getDescription(), strings);
+            columns[3][row] = stringId(item.getEffect(), strings);
+            columns[4][row] = item.getBuyingPrice();
+            columns[5][row] = item.getSellingPrice();
+        }
+        ints.table(items.size(), columns);
+
+        columns = new int[SPECIES_COLUMNS][speciesTable.size()];
+        for (int row = 0; row < speciesTable.size(); row++) {
+            Species species = speciesTable.get(row);
+            columns[0][row] = species.getPokedexNumber();
+            columns[1][row] = stringId(species.getName(), strings);
+            columns[2][row] = stringId(species.getType1(), strings);
+            columns[3][row] = stringId(species.getType2(), strings);
+            columns[4][row] = species.getBaseLevel();
+            columns[5][row] = species.getEvolvesFrom();
+            columns[6][row] = species.getEvolvesTo();
+            columns[7][row] = species.getEvolutionLevel();
+            columns[8][row] = species.getBaseHP();
+            columns[9][row] = species.getBaseAttack();
+            columns[10][row] = species.getBaseDefense();
+            columns[11][row] = species.getBaseSpeed();
+        }
+        ints.table(speciesTable.size(), columns);
+
+        columns = new int[POKEMON_COLUMNS][instances.size()];
+        for (int row = 0; row < instances.size(); row++) {
+            Pokemon p = instances.get(row);
+            columns[0][row] = speciesIds.get(p.getSpecies());
+            columns[1][row] = p.getCurrentLevel();
+            columns[2][row] = p.getCurrentHP();
+            columns[3][row] = p.getCurrentAttack();
+            columns[4][row] = p.getCurrentDefense();
+            columns[5][row] = p.getCurrentSpeed();
+            columns[6][row] = p.getMoveCount();
+            for (int i = 0; i < 4; i++) {
+                columns[7 + i][row] = i < p.getMoveCount() ? moveIds.get(p.getMoveSet()[i]) : -1;
+            }
+            columns[11][row] = p.getHeldItem() != null ? itemIds.get(p.getHeldItem()) : -1;
+            int[] evs = p.getEVs();
+            for (int i = 0; i < evs.length; i++) {
+                columns[12 + i][row] = evs[i];
+            }
+        }
+        ints.table(pokemon.size(), columns);
+
+        columns = new int[TRAINER_COLUMNS][trainers.size()];
+        int inventorySize = 0;
+        for (int row = 0; row < trainers.size(); row++) {
+            Trainer trainer = trainers.get(row);
+            columns[0][row] = trainer.getTrainerID();
+            columns[1][row] = stringId(trainer.getName(), strings);
+            columns[2][row] = stringId(trainer.getBirthdate(), strings);
+            columns[3][row] = stringId(trainer.getSex(), strings);
+            columns[4][row] = stringId(trainer.getHometown(), strings);
+            columns[5][row] = stringId(trainer.getDescription(), strings);
+            columns[6][row] = trainer.getMoney();
+            columns[7][row] = trainer.getLineupCount();
+            columns[8][row] = trainer.getStorageCount();
+            columns[9][row] = trainer.getUniqueItemCount();
+            inventorySize += trainer.getUniqueItemCount();
+        }
+        ints.table(trainers.size(), columns);
+
+        // Inventories of all trainers, in trainer order: item id and quantity
+        columns = new int[2][inventorySize];
+        int slot = 0;
+        for (Trainer trainer : trainers) {
+            for (int i = 0; i < trainer.getUniqueItemCount(); i++, slot++) {
+                columns[0][slot] = itemIds.get(trainer.getUniqueItems()[i]);
+                columns[1][slot] = trainer.getItemQuantities()[i];
+            }
+        }
+        ints.table(inventorySize, columns);
+
+        // Lay out the file: header, strings, then the int tables
+        List<byte[]> encoded = new ArrayList<>(strings.size());
+        long payloadLength = 4 + 4L * ints.size;
+        for (String s : strings.keySet()) {
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            encoded.add(bytes);
+            payloadLength += 4 + bytes.length;
+        }
+        if (HEADER_BYTES + payloadLength > Integer.MAX_VALUE) {
+            throw new IOException("Snapshot too large: " + payloadLength + " bytes");
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + (int) payloadLength);
+        buffer.position(HEADER_BYTES);
+        buffer.putInt(encoded.size());
+        for (byte[] bytes : encoded) {
+            buffer.putInt(bytes.length);
+            buffer.put(bytes);
+        }
+        buffer.asIntBuffer().put(ints.data, 0, ints.size);
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), HEADER_BYTES, (int) payloadLength);
+        buffer.putLong(0, MAGIC);
+        buffer.putInt(8, FORMAT_VERSION);
+        buffer.putInt(12, (int) payloadLength);
+        buffer.putLong(16, crc.getValue());
+        buffer.putLong(24, journalSequence);
+        buffer.position(0);
+        return buffer;
+    }
+
+    /**
+     * Writes encoded snapshot contents to a file, replacing it.
+     *
+     * @param buffer The contents returned by encode()
+     * @param filename The file to write
+     * @throws IOException if the file cannot be written
+     */
+    public static void writeFile(ByteBuffer buffer, String filename) throws IOException {
+        buffer = buffer.duplicate();
+        Path target = Paths.get(filename).toAbsolutePath();
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Reads a snapshot file. The returned Pokémon and trainers are new
+     * instances not yet attached to any model.
+     *
+     * @param filename The file to read
+     * @return The snapshot
+     * @throws IOException if the file cannot be read, is not a snapshot of
+     *         this format version, or is damaged
+     */
+    public static ModelSnapshot read(String filename) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("Not a snapshot file: " + filename);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getLong(0) != MAGIC) {
+                throw new IOException("Not a snapshot file: " + filename);
+            }
+            if (buffer.getInt(8) != FORMAT_VERSION) {
+                throw new IOException("Unsupported snapshot version " + buffer.getInt(8) + " in " + filename);
+            }
+            int payloadLength = buffer.getInt(12);
+            if (payloadLength != size - HEADER_BYTES) {
+                throw new IOException("Truncated snapshot: " + filename);
+            }
+            buffer.position(HEADER_BYTES);
+            CRC32 crc = new CRC32();
+            crc.update(buffer);
+            if (crc.getValue() != buffer.getLong(16)) {
+                throw new IOException("Damaged snapshot (checksum mismatch): " + filename);
+            }
+
+            try {
+                return decode(buffer, buffer.getLong(24));
+            } catch (RuntimeException e) {
+                throw new IOException("Damaged snapshot " + filename + ": " + e.getMessage(), e);
+            }
+        }
+    }
+
+    private static ModelSnapshot decode(ByteBuffer buffer, long journalSequence) throws IOException {
+        buffer.position(HEADER_BYTES);
+        String[] strings = new String[buffer.getInt()];
+        byte[] bytes = new byte[64];
+        for (int i = 0; i < strings.length; i++) {
+            int length = buffer.getInt();
+            if (length > bytes.length) {
+                bytes = new byte[Math.max(length, bytes.length * 2)];
+            }
+            buffer.get(bytes, 0, length);
+            strings[i] = new String(bytes, 0, length, StandardCharsets.UTF_8);
+        }
+        IntReader ints = new IntReader(buffer.slice().asIntBuffer(), strings);
+
+        int listedMoves = ints.next();
+        int[][] columns = ints.table(MOVE_COLUMNS);
+        Move[] moveTable = new Move[columns[0].length];
+        for (int row = 0; row < moveTable.length; row++) {
+            moveTable[row] = new Move(ints.string(columns[0][row]), ints.string(columns[1][row]),
+                                      ints.string(columns[2][row]), ints.string(columns[3][row]),
+                                      ints.string(columns[4][row]));
+        }
+
+        int listedItems = ints.next();
+        columns = ints.table(ITEM_COLUMNS);
+        Item[] itemTable = new Item[columns[0].length];
+        for (int row = 0; row < itemTable.length; row++) {
+            itemTable[row] = new Item(ints.string(columns[0][row]), ints.string(columns[1][row]),
+                                      ints.string(columns[2][row]), ints.string(columns[3][row]),
+                                      columns[4][row], columns[5][row]);
+        }
+
+        ints.next(); // Species are all referenced by Pokémon; no separate list
+        columns = ints.table(SPECIES_COLUMNS);
+        Species[] speciesTable = new Species[columns[0].length];
+        for (int row = 0; row < speciesTable.length; row++) {
+            speciesTable[row] = new Species(columns[0][row], ints.string(columns[1][row]),
+                                            ints.string(columns[2][row]), ints.string(columns[3][row]),
+                                            columns[4][row], columns[5][row], columns[6][row], columns[7][row],
+                                            columns[8][row], columns[9][row], columns[10][row], columns[11][row]);
+        }
+
+        int listedPokemon = ints.next();
+        columns = ints.table(POKEMON_COLUMNS);
+        Pokemon[] instances = new Pokemon[columns[0].length];
+        for (int row = 0; row < instances.length; row++) {
+            int[] stats = { columns[2][row], columns[3][row], columns[4][row], columns[5][row] };
+            Move[] moveSet = new Move[columns[6][row]];
+            for (int i = 0; i < moveSet.length; i++) {
+                moveSet[i] = ref(moveTable, columns[7 + i][row]);
+            }
+            int heldItem = columns[11][row];
+            int[] evs = new int[5];
+            for (int i = 0; i < evs.length; i++) {
+                evs[i] = columns[12 + i][row];
+            }
+            instances[row] = new Pokemon(ref(speciesTable, columns[0][row]), columns[1][row], stats, moveSet,
+                                         heldItem >= 0 ? ref(itemTable, heldItem) : null, evs);
+        }
+
+        ints.next();
+        columns = ints.table(TRAINER_COLUMNS);
+        ints.next();
+        int[][] inventory = ints.table(2);
+        Trainer[] trainerTable = new Trainer[columns[0].length];
+        int nextPokemon = listedPokemon;
+        int nextItem = 0;
+        for (int row = 0; row < trainerTable.length; row++) {
+            Pokemon[] lineup = Arrays.copyOfRange(instances, nextPokemon, nextPokemon + columns[7][row]);
+            nextPokemon += lineup.length;
+            Pokemon[] storage = Arrays.copyOfRange(instances, nextPokemon, nextPokemon + columns[8][row]);
+            nextPokemon += storage.length;
+            Item[] owned = new Item[columns[9][row]];
+            int[] quantities = new int[owned.length];
+            for (int i = 0; i < owned.length; i++, nextItem++) {
+                owned[i] = ref(itemTable, inventory[0][nextItem]);
+                quantities[i] = inventory[1][nextItem];
+            }
+            trainerTable[row] = new Trainer(columns[0][row], ints.string(columns[1][row]),
+                                            ints.string(columns[2][row]), ints.string(columns[3][row]),
+                                            ints.string(columns[4][row]), ints.string(columns[5][row]),
+                                            columns[6][row], lineup, storage, owned, quantities);
+        }
+        if (nextPokemon != instances.length || nextItem != inventory[0].length) {
+            throw new IOException("Pokémon or inventory counts do not add up");
+        }
+
+        return new ModelSnapshot(Arrays.asList(instances).subList(0, listedPokemon),
+                                 Arrays.asList(moveTable).subList(0, listedMoves),
+                                 Arrays.asList(itemTable).subList(0, listedItems),
+                                 Arrays.asList(trainerTable), journalSequence);
+    }
+
+    private static <T> Map<T, Integer> ids(List<T> table) {
+        Map<T, Integer> ids = new IdentityHashMap<>();
+        for (int i = 0; i < table.size(); i++) {
+            ids.putIfAbsent(table.get(i), i);
+        }
+        return ids;
+    }
+
+    private static <T> void addRef(T value, List<T> table, Map<T, Integer> ids) {
+        if (value != null && ids.putIfAbsent(value, table.size()) == null) {
+            table.add(value);
+        }
+    }
+
+    private static int stringId(String value, Map<String, Integer> strings) {
+        if (value == null) {
+            return -1;
+        }
+        Integer id = strings.putIfAbsent(value, strings.size());
+        return id != null ? id : strings.size() - 1;
+    }
+
+    private static <T> T ref(T[] table, int id) throws IOException {
+        if (id < 0 || id >= table.length) {
+            throw new IOException("Reference " + id + " out of range 0.." + (table.length - 1));
+        }
+        return table[id];
+    }
+
+    /**
+     * Growable array of the ints that follow the string dictionary.
+     */
+    private static class IntWriter {
+        private int[] data = new int[1024];
+        private int size;
+
+        private void add(int value) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, size * 2);
+            }
+            data[size++] = value;
+        }
+
+        /**
+         * Adds a table: the number of listed rows, the row count, then
+         * each column in turn.
+         */
+        private void table(int listedRows, int[][] columns) {
+            add(listedRows);
+            add(columns[0].length);
+            for (int[] column : columns) {
+                if (size + column.length > data.length) {
+                    data = Arrays.copyOf(data, Math.max(size + column.length, size * 2));
+                }
+                System.arraycopy(column, 0, data, size, column.length);
+                size += column.length;
+            }
+        }
+    }
+
+    /**
+     * Reads what IntWriter wrote.
+     */
+    private static class IntReader {
+        private final IntBuffer ints;
+        private final String[] strings;
+
+        private IntReader(IntBuffer ints, String[] strings) {
+            this.ints = ints;
+            this.strings = strings;
+        }
+
+        private int next() {
+            return ints.get();
+        }
+
+        private int[][] table(int columnCount) throws IOException {
+            int rows = ints.get();
+            if (rows < 0 || (long) rows * columnCount > ints.remaining()) {
+                throw new IOException("Bad row count " + rows);
+            }
+            int[][] columns = new int[columnCount][rows];
+            for (int[] column : columns) {
+                ints.get(column);
+            }
+            return columns;
+        }
+
+        private String string(int id) throws IOException {
+            return id == -1 ? null : ref(strings, id);
+        }
+    }
+}
@@ -23,6 +23,14 @@ public class Move {
     private String type1;
     /** The secondary type of the move (optional, can be null) */
     private String type2;
+    /** Parsed primary type (null if type1 is not a known type) */
+    private Type primaryType;
+    /** Bitmask of both types, see Type.maskOf */
+    private int typeMask;
+    /** Cached normalized search key (null until first needed) */
+    private String searchKey;
+    /** Called after a searched field changes (provided by the owning model) */
+    private Runnable editListener;
     
     /**
      * Constructor for creating a new move.
@@ -40,6 +48,17 @@ public class Move {
         this.classification = classification;
         this.type1 = type1;
         this.type2 = type2;
+        parseTypes();
+    }
+    
+    /**
+     * Parses the type Strings into the primary Type and the combined type mask.
+     * Called whenever either type String changes.
+     */
+    private void parseTypes() {
+        this.primaryType = Type.fromName(type1);
+        this.typeMask = Type.maskOf(type1, type2);
+        this.searchKey = null;
     }
     
     // Getters
@@ -74,53 +93,117 @@ public class Move {
      */
     public String getType2() { return type2; }
     
+    /**
+     * Gets the parsed primary type of the move.
+     * @return The primary type, or null if it is not a known type
+     */
+    public Type getPrimaryType() { return primaryType; }
+    
+    /**
+     * Gets the bitmask of the move's types.
+     * @return The type mask (see Type.maskOf)
+     */
+    public int getTypeMask() { return typeMask; }
+    
     // Setters
     
     /**
      * Sets the name of the move.
      * @param name The new name for the move
      */
-    public void setName(String name) { this.name = name; }
+    public void setName(String name) { 
+        this.name = name; 
+        searchFieldsChanged();
+    }
     
     /**
      * Sets the description of the move.
      * @param description The new description for the move
      */
-    public void setDescription(String description) { this.description = description; }
+    public void setDescription(String description) { 
+        this.description = description; 
+        searchFieldsChanged();
+    }
     
     /**
      * Sets the classification of the move.
      * @param classification The new classification (HM or TM)
      */
-    public void setClassification(String classification) { this.classification = classification; }
+    public void setClassification(String classification) { 
+        this.classification = classification; 
+        searchFieldsChanged();
+    }
     
     /**
      * Sets the primary type of the move.
      * @param type1 The new primary type
      */
-    public void setType1(String type1) { this.type1 = type1; }
+    public void setType1(String type1) { 
+        this.type1 = type1; 
+        parseTypes();
+        searchFieldsChanged();
+    }
     
     /**
      * Sets the secondary type of the move.
      * @param type2 The new secondary type (can be null)
      */
-    public void setType2(String type2) { this.type2 = type2; }
+    public void setType2(String type2) { 
+        this.type2 = type2; 
+        parseTypes();
+        searchFieldsChanged();
+    }
+    
+    /**
+     * Sets the callback run after a searched field of this move changes,
+     * so the owning model can update its search indexes.
+     * @param editListener The callback, or null
+     */
+    public void setEditListener(Runnable editListener) { this.editListener = editListener; }
+    
+    /**
+     * Resets the search key and notifies the edit listener
+     */
+    private void searchFieldsChanged() {
+        searchKey = null;
+        if (editListener != null) {
+            editListener.run();
+        }
+    }
+    
+    /**
+     * Gets the normalized search key of the move (see SearchKey).
+     * The key is computed on first use and reset by the setters.
+     * @return The normalized name, description, classification and types
+     */
+    public String getSearchKey() {
+        if (searchKey == null) {
+            searchKey = SearchKey.of(name, description, classification, type1, type2);
+        }
+        return searchKey;
+    }
     
     /**
      * Checks if this move matches a search query.
-     * Performs a case-insensitive search across all move properties
-     * including name, description, classification, and types.
+     * Performs a case- and accent-insensitive search across all move
+     * properties including name, description, classification, and types.
      * 
      * @param query The search query to match against
      * @return true if the move matches the query, false otherwise
      */
     public boolean matchesSearch(String query) {
-        String lowerQuery = query.toLowerCase();
-        return name.toLowerCase().contains(lowerQuery) ||
-               description.toLowerCase().contains(lowerQuery) ||
-               classification.toLowerCase().contains(lowerQuery) ||
-               type1.toLowerCase().contains(lowerQuery) ||
-               (type2 != null && type2.toLowerCase().contains(lowerQuery));
+        return matchesNormalizedSearch(SearchKey.normalize(query));
+    }
+    
+    /**
+     * Checks if this move matches a query that is already normalized.
+     * Lets a search over many moves normalize the query only once.
+     * 
+     * @param normalizedQuery The query, normalized with SearchKey.normalize
+     * @return true if the move matches the query, false otherwise
+     */
+    public boolean matchesNormalizedSearch(String normalizedQuery) {
+        return getSearchKey().contains(normalizedQuery);
     }
     
     /**
@@ -30,6 +30,8 @@ public class MovesPanel extends JPanel {
     private JTable movesTable;
     /** Model for the moves table */
     private DefaultTableModel tableModel;
+    /** Fills the table with paged search results */
+    private PagedTableLoader<Move> pageLoader;
     /** Text field for search input */
     private JTextField searchField;
     /** Text area for displaying detailed move information */
@@ -109,6 +111,9 @@ public class MovesPanel extends JPanel {
         detailsArea.setEditable(false);
         detailsArea.setFont(pokeFont(10f));
         
+        // Name completions under the search field (added before the Enter key listener)
+        new AutocompletePopup(searchField, controller::completeMoveNames, this::searchMoves);
+        
         // Add listeners
         addListeners();
     }
@@ -131,6 +136,7 @@ public class MovesPanel extends JPanel {
         
         // Add table with scroll pane
         JScrollPane tableScrollPane = new JScrollPane(movesTable);
+        pageLoader = new PagedTableLoader<>(tableModel, this::moveRow, tableScrollPane);
         tableScrollPane.setPreferredSize(new Dimension(600, 300));
         centerPanel.add(tableScrollPane, BorderLayout.CENTER);
         
@@ -176,6 +182,7 @@ public class MovesPanel extends JPanel {
     }
     
     private void loadMovesData() {
+        pageLoader.stop();
         tableModel.setRowCount(0);
         List<Move> movesList = controller.getAllMoves();
         
@@ -197,20 +204,37 @@ public class MovesPanel extends JPanel {
             return;
         }
         
-        List<Move> results = controller.searchMoves(query);
+        if (!StructuredQuery.looksStructured(query)) {
+            // Plain searches fetch one page at a time as the table scrolls
+            pageLoader.start((offset, limit) -> controller.searchMovesPage(query, offset, limit));
+            return;
+        }
+        
+        // Structured query such as name:char* or field>value
+        List<Move> results;
+        try {
+            results = controller.queryMoves(query);
+        } catch (IllegalArgumentException ex) {
+            JOptionPane.showMessageDialog(this, "Invalid query: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        pageLoader.stop();
         tableModel.setRowCount(0);
         
         for (Move move : results) {
-            Object[] row = {
-                move.getName(),
-                move.getClassification(),
-                move.getType1() + (move.getType2() != null ? "/" + move.getType2() : ""),
-                move.getDescription()
-            };
-            tableModel.addRow(row);
+            tableModel.addRow(moveRow(move));
         }
     }
     
+    private Object[] moveRow(Move move) {
+        return new Object[] {
+            move.getName(),
+            move.getClassification(),
+            move.getType1() + (move.getType2() != null ? "/" + move.getType2() : ""),
+            move.getDescription()
+        };
+    }
+    
     private void showAddMoveDialog() {
         JDialog dialog = new JDialog((Frame) SwingUtilities.getWindowAncestor(this), "Add New Move", true);
         dialog.setLayout(new BorderLayout());
@@ -0,0 +1,100 @@
+import java.util.*;
+
+/**
+ * Sorted-array name autocompleter.
+ * Names are normalized with SearchKey.normalize and sorted once into
+ * parallel arrays, so completing a prefix is a binary search for the
+ * first match followed by reading up to N neighbouring entries. This
+ * stays fast for hundreds of thousands of names and keeps only two
+ * arrays of references in memory.
+ *
+ * The completer is a snapshot of the names it was built from;
+ * PokemonModel rebuilds it after the underlying list changes.
+ *
+ * @author Enhanced Pokédex Team
+ * @version 1.0
+ * @since 2024
+ */
+public class NameCompleter {
+    /** Normalized names, sorted ascending */
+    private final String[] keys;
+    /** Original names, in the same order as keys */
+    private final String[] names;
+
+    /**
+     * Constructor that builds the completer from a list of names.
+     * Null names are skipped.
+     *
+     * @param names The names to complete
+     */
+    public NameCompleter(List<String> names) {
+        List<String[]> entries = new ArrayList<>(names.size());
+        for (String name : names) {
+            if (name != null) {
+                entries.add(new String[] { SearchKey.normalize(name), name });
+            }
+        }
+        entries.sort((a, b) -> {
+            int byKey = a[0].compareTo(b[0]);
+            return byKey != 0 ? byKey : a[1].compareTo(b[1]);
+        });
+
+        this.keys = new String[entries.size()];
+        this.names = new String[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            keys[i] = entries.get(i)[0];
+            this.names[i] = entries.get(i)[1];
+        }
+    }
+
+    /**
+     * Finds names starting with a prefix, ignoring case and accents.
+     * Duplicate names are returned once.
+     *
+     * @param prefix The text typed so far
+     * @param limit The maximum number of completions
+     * @return Up to limit names in alphabetical order (empty for an empty prefix)
+     */
+    public List<String> complete(String prefix, int limit) {
+        String key = SearchKey.normalize(prefix);
+        List<String> result = new ArrayList<>(Math.max(0, Math.min(limit, 16)));
+        if (key.isEmpty()) {
+            return result;
+        }
+
+        for (int i = lowerBound(key); i < keys.length && result.size() < limit; i++) {
+            if (!keys[i].startsWith(key)) {
+                break;
+            }
+            if (i == 0 || !names[i].equals(names[i - 1])) {
+                result.add(names[i]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the number of names in the completer.
+     * @return The number of names
+     */
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * Finds the first position whose key is not less than a key.
+     */
+    private int lowerBound(String key) {
+        int lo = 0;
+        int hi = keys.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid].compareTo(key) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+}
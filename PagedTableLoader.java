@@ -0,0 +1,99 @@
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Fills a table with search results one page at a time.
+ * The first page is fetched when a search starts; further pages are
+ * fetched as the user scrolls near the bottom of the table, so a broad
+ * search only builds rows for what has been looked at.
+ *
+ * If the model changes while pages are being fetched, the search is
+ * restarted from the first page so the rows stay consistent.
+ *
+ * @author Enhanced Pokédex Team
+ * @version 1.0
+ * @since 2024
+ * @param <T> The entity type
+ */
+public class PagedTableLoader<T> {
+    /** Number of results fetched per page */
+    public static final int PAGE_SIZE = 100;
+
+    /** The table model to fill */
+    private final DefaultTableModel tableModel;
+    /** Builds the table row of one result */
+    private final Function<T, Object[]> rowMapper;
+    /** Fetches a page given an offset and a limit, or null when no search is active */
+    private BiFunction<Integer, Integer, SearchPage<T>> source;
+    /** Offset of the next page to fetch */
+    private int nextOffset;
+    /** true if the active search has more pages */
+    private boolean hasMore;
+    /** Model version of the first page of the active search */
+    private long version;
+
+    /**
+     * Constructor that attaches the loader to a table's scroll pane.
+     *
+     * @param tableModel The table model to fill
+     * @param rowMapper Builds the table row of one result
+     * @param scrollPane The scroll pane of the table
+     */
+    public PagedTableLoader(DefaultTableModel tableModel, Function<T, Object[]> rowMapper,
+                            JScrollPane scrollPane) {
+        this.tableModel = tableModel;
+        this.rowMapper = rowMapper;
+
+        JScrollBar bar = scrollPane.getVerticalScrollBar();
+        bar.addAdjustmentListener(e -> {
+            // Fetch the next page once the last half screen of rows is visible
+            if (hasMore && bar.getValue() + bar.getVisibleAmount() * 3 / 2 >= bar.getMaximum()) {
+                SwingUtilities.invokeLater(this::loadNextPage);
+            }
+        });
+    }
+
+    /**
+     * Starts a new paged search, replacing the rows of the table.
+     *
+     * @param source Fetches a page given an offset and a limit
+     */
+    public void start(BiFunction<Integer, Integer, SearchPage<T>> source) {
+        this.source = source;
+        tableModel.setRowCount(0);
+        nextOffset = 0;
+        hasMore = true;
+        loadNextPage();
+    }
+
+    /**
+     * Stops the active paged search, e.g. when the table is filled another way.
+     */
+    public void stop() {
+        source = null;
+        hasMore = false;
+    }
+
+    private void loadNextPage() {
+        if (source == null || !hasMore) {
+            return;
+        }
+
+        SearchPage<T> page = source.apply(nextOffset, PAGE_SIZE);
+        if (nextOffset == 0) {
+            version = page.getVersion();
+        } else if (page.getVersion() != version) {
+            // The results changed under us; start over
+            start(source);
+            return;
+        }
+
+        for (T item : page.getItems()) {
+            tableModel.addRow(rowMapper.apply(item));
+        }
+        nextOffset = page.getNextOffset();
+        hasMore = page.hasMore();
+    }
+}
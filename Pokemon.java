@@ -1,3 +1,5 @@
+import java.util.Arrays;
+
 /**
  * Represents a Pokémon with all its attributes and behaviors.
  * This class implements proper encapsulation and OOP principles,
@@ -11,6 +13,10 @@
  * - Item holding capabilities
  * - EV (Effort Value) tracking
  * 
+ * Species data (name, types, base stats, evolution links) lives in a
+ * shared, immutable Species; each Pokémon only stores its own instance
+ * state and a reference to its species.
+ * 
  * The class supports Pokémon evolution, move learning,
  * item effects, and statistical modifications.
  * 
@@ -22,33 +28,15 @@ public class Pokemon {
     /** Static counter for tracking total Pokémon instances created */
     private static int pokemonCount = 0;
     
-    // Core attributes
-    /** The unique Pokédex number of this Pokémon */
-    private int pokedexNumber;
-    /** The name of this Pokémon */
-    private String name;
-    /** The primary type of this Pokémon */
-    private String type1;
-    /** The secondary type of this Pokémon (optional, can be null) */
-    private String type2;
-    /** The base level when this Pokémon is first encountered */
-    private int baseLevel;
-    /** Pokédex number of the Pokémon this evolves from (-1 if none) */
-    private int evolvesFrom;
-    /** Pokédex number of the Pokémon this evolves into (-1 if none) */
-    private int evolvesTo;
-    /** The level at which this Pokémon evolves */
-    private int evolutionLevel;
-    
-    // Base stats
-    /** Base HP (Hit Points) statistic */
-    private int baseHP;
-    /** Base Attack statistic */
-    private int baseAttack;
-    /** Base Defense statistic */
-    private int baseDefense;
-    /** Base Speed statistic */
-    private int baseSpeed;
+    /** Shared "Tackle" and "Defend" moves used when no canonical moves are supplied */
+    private static final Move[] FALLBACK_DEFAULT_MOVES = {
+        new Move("Tackle", "A basic physical attack", "TM", "Normal", null),
+        new Move("Defend", "Increases defense temporarily", "TM", "Normal", null)
+    };
+    
+    // Species data (shared, immutable)
+    /** The species template this Pokémon is an instance of */
+    private Species species;
     
     // Current stats (can be modified by items)
     /** Current HP value (can be modified by items and effects) */
@@ -104,34 +92,60 @@ public class Pokemon {
     public Pokemon(int pokedexNumber, String name, String type1, String type2, 
                    int baseLevel, int evolvesFrom, int evolvesTo, int evolutionLevel,
                    int baseHP, int baseAttack, int baseDefense, int baseSpeed) {
-        this.pokedexNumber = pokedexNumber;
-        this.name = name;
-        this.type1 = type1;
-        this.type2 = type2;
-        this.baseLevel = baseLevel;
-        this.currentLevel = baseLevel;
-        this.evolvesFrom = evolvesFrom;
-        this.evolvesTo = evolvesTo;
-        this.evolutionLevel = evolutionLevel;
-        
-        // Set base stats
-        this.baseHP = baseHP;
-        this.baseAttack = baseAttack;
-        this.baseDefense = baseDefense;
-        this.baseSpeed = baseSpeed;
+        this(pokedexNumber, name, type1, type2, baseLevel, evolvesFrom, evolvesTo, evolutionLevel,
+             baseHP, baseAttack, baseDefense, baseSpeed, null);
+    }
+    
+    /**
+     * Constructor for creating a new Pokémon instance whose default moves
+     * are shared, canonical Move instances (e.g. those in PokemonModel's move list).
+     * 
+     * @param pokedexNumber The unique Pokédex number
+     * @param name The name of the Pokémon
+     * @param type1 The primary type
+     * @param type2 The secondary type (can be null or empty)
+     * @param baseLevel The base level when encountered
+     * @param evolvesFrom Pokédex number of pre-evolution (-1 if none)
+     * @param evolvesTo Pokédex number of evolution (-1 if none)
+     * @param evolutionLevel Level required for evolution
+     * @param baseHP Base HP statistic
+     * @param baseAttack Base Attack statistic
+     * @param baseDefense Base Defense statistic
+     * @param baseSpeed Base Speed statistic
+     * @param defaultMoves The "Tackle" and "Defend" moves to reference (null for the shared fallbacks)
+     */
+    public Pokemon(int pokedexNumber, String name, String type1, String type2, 
+                   int baseLevel, int evolvesFrom, int evolvesTo, int evolutionLevel,
+                   int baseHP, int baseAttack, int baseDefense, int baseSpeed,
+                   Move[] defaultMoves) {
+        this(new Species(pokedexNumber, name, type1, type2, baseLevel, evolvesFrom, evolvesTo,
+                         evolutionLevel, baseHP, baseAttack, baseDefense, baseSpeed),
+             defaultMoves);
+    }
+    
+    /**
+     * Constructor for creating a new Pokémon instance of a species.
+     * Current stats and level start at the species' base values.
+     * 
+     * @param species The species template to reference
+     * @param defaultMoves The "Tackle" and "Defend" moves to reference (null for the shared fallbacks)
+     */
+    public Pokemon(Species species, Move[] defaultMoves) {
+        this.species = species;
+        this.currentLevel = species.getBaseLevel();
         
         // Initialize current stats to base stats
-        this.currentHP = baseHP;
-        this.currentAttack = baseAttack;
-        this.currentDefense = baseDefense;
-        this.currentSpeed = baseSpeed;
+        this.currentHP = species.getBaseHP();
+        this.currentAttack = species.getBaseAttack();
+        this.currentDefense = species.getBaseDefense();
+        this.currentSpeed = species.getBaseSpeed();
         
         // Initialize move set with default moves
         this.moveSet = new Move[4];
         this.moveCount = 0;
         
         // Add default moves "Tackle" and "Defend"
-        addDefaultMoves();
+        addDefaultMoves(defaultMoves != null ? defaultMoves : FALLBACK_DEFAULT_MOVES);
         
         // Initialize EVs
         this.hpEV = 0;
@@ -145,25 +159,14 @@ public class Pokemon {
     
     /**
      * Copy constructor for creating a unique instance for trainers.
-     * Creates a deep copy of the original Pokémon with all attributes.
+     * Copies the instance state of the original Pokémon and shares
+     * its species template.
      * 
      * @param original The Pokémon to copy from
      */
     public Pokemon(Pokemon original) {
-        this.pokedexNumber = original.pokedexNumber;
-        this.name = original.name;
-        this.type1 = original.type1;
-        this.type2 = original.type2;
-        this.baseLevel = original.baseLevel;
+        this.species = original.species;
         this.currentLevel = original.currentLevel;
-        this.evolvesFrom = original.evolvesFrom;
-        this.evolvesTo = original.evolvesTo;
-        this.evolutionLevel = original.evolutionLevel;
-        
-        this.baseHP = original.baseHP;
-        this.baseAttack = original.baseAttack;
-        this.baseDefense = original.baseDefense;
-        this.baseSpeed = original.baseSpeed;
         
         this.currentHP = original.currentHP;
         this.currentAttack = original.currentAttack;
@@ -186,18 +189,54 @@ public class Pokemon {
         this.specialDefenseEV = original.specialDefenseEV;
     }
     
+    /**
+     * Constructor for restoring a saved Pokémon instance, e.g. from a
+     * snapshot. Like the copy constructor, it does not count as a new
+     * Pokémon.
+     * 
+     * @param species The species template to reference
+     * @param currentLevel The current level
+     * @param currentStats The current HP, Attack, Defense and Speed
+     * @param moves The known moves (at most 4)
+     * @param heldItem The held item (can be null)
+     * @param evs The EVs, in the order returned by getEVs()
+     * @throws IllegalArgumentException if there are more than 4 moves
+     */
+    public Pokemon(Species species, int currentLevel, int[] currentStats, Move[] moves,
+                   Item heldItem, int[] evs) {
+        if (moves.length > 4) {
+            throw new IllegalArgumentException("A Pokémon knows at most 4 moves: " + moves.length);
+        }
+        this.species = species;
+        this.currentLevel = currentLevel;
+        
+        this.currentHP = currentStats[0];
+        this.currentAttack = currentStats[1];
+        this.currentDefense = currentStats[2];
+        this.currentSpeed = currentStats[3];
+        
+        this.moveSet = Arrays.copyOf(moves, 4);
+        this.moveCount = moves.length;
+        
+        this.heldItem = heldItem;
+        
+        this.hpEV = evs[0];
+        this.attackEV = evs[1];
+        this.defenseEV = evs[2];
+        this.speedEV = evs[3];
+        this.specialDefenseEV = evs[4];
+    }
+    
     /**
      * Adds default moves "Tackle" and "Defend" to new Pokémon.
      * This method is called during construction to ensure every Pokémon
-     * starts with basic moves.
+     * starts with basic moves. The moves are shared references, not copies.
+     * 
+     * @param defaultMoves The "Tackle" and "Defend" moves to reference
      */
-    private void addDefaultMoves() {
-        // Create default moves if they don't exist
-        Move tackle = new Move("Tackle", "A basic physical attack", "TM", "Normal", null);
-        Move defend = new Move("Defend", "Increases defense temporarily", "TM", "Normal", null);
-        
-        this.moveSet[0] = tackle;
-        this.moveSet[1] = defend;
+    private void addDefaultMoves(Move[] defaultMoves) {
+        this.moveSet[0] = defaultMoves[0];
+        this.moveSet[1] = defaultMoves[1];
         this.moveCount = 2;
     }
     
@@ -207,6 +246,7 @@ public class Pokemon {
      * Currently outputs the Pokémon's name in uppercase followed by "!"
      */
     public void cry() {
+        String name = species.getName();
         System.out.println(name + " cries: \"" + name.toUpperCase() + "!\"");
         // In a real implementation, this would play an audio file
         System.out.println("*" + name + " makes its characteristic sound*");
@@ -256,15 +296,34 @@ public class Pokemon {
      * @return true if the move is compatible, false otherwise
      */
     private boolean isCompatibleMove(Move move) {
-        String moveType1 = move.getType1();
-        String moveType2 = move.getType2();
-        
         // Normal type moves can be learned by all Pokémon
-        if (moveType1.equals("Normal")) {
+        if (move.getPrimaryType() == Type.NORMAL) {
             return true;
         }
         
+        // Types outside the 18 known ones can only be compared by name
+        int typeMask = species.getTypeMask();
+        if (((typeMask | move.getTypeMask()) & Type.UNKNOWN_MASK) != 0) {
+            return isCompatibleMoveByName(move);
+        }
+        
         // Move must share at least one type with the Pokémon
+        return (typeMask & move.getTypeMask()) != 0;
+    }
+    
+    /**
+     * Checks move compatibility by comparing type names directly.
+     * Used when either side has a type that is not one of the known types.
+     * 
+     * @param move The move to check compatibility for
+     * @return true if the move is compatible, false otherwise
+     */
+    private boolean isCompatibleMoveByName(Move move) {
+        String moveType1 = move.getType1();
+        String moveType2 = move.getType2();
+        String type1 = species.getType1();
+        String type2 = species.getType2();
+        
         return moveType1.equals(type1) || moveType1.equals(type2) ||
                (moveType2 != null && (moveType2.equals(type1) || moveType2.equals(type2)));
     }
@@ -286,7 +345,7 @@ public class Pokemon {
         currentSpeed = (int)(currentSpeed * 1.1);
         
         // Check for evolution
-        if (evolvesTo != -1 && currentLevel >= evolutionLevel) {
+        if (species.getEvolvesTo() != -1 && currentLevel >= species.getEvolutionLevel()) {
             return true; // Indicates evolution should occur
         }
         
@@ -295,30 +354,30 @@ public class Pokemon {
     
     /**
      * Evolves this Pokémon using evolution stone or level up.
-     * Updates all base information to the evolved form while preserving
+     * Re-points this Pokémon at the evolved species while preserving
      * current stats if they are higher than the new base stats.
      * 
      * @param evolvedForm The evolved form of this Pokémon
      */
     public void evolve(Pokemon evolvedForm) {
+        evolve(evolvedForm.species);
+    }
+    
+    /**
+     * Evolves this Pokémon into the given species.
+     * Current stats are kept if they are higher than the new base stats.
+     * 
+     * @param evolvedSpecies The species to evolve into
+     */
+    public void evolve(Species evolvedSpecies) {
         // Keep current stats if they're higher than base stats
-        this.currentHP = Math.max(this.currentHP, evolvedForm.baseHP);
-        this.currentAttack = Math.max(this.currentAttack, evolvedForm.baseAttack);
-        this.currentDefense = Math.max(this.currentDefense, evolvedForm.baseDefense);
-        this.currentSpeed = Math.max(this.currentSpeed, evolvedForm.baseSpeed);
+        this.currentHP = Math.max(this.currentHP, evolvedSpecies.getBaseHP());
+        this.currentAttack = Math.max(this.currentAttack, evolvedSpecies.getBaseAttack());
+        this.currentDefense = Math.max(this.currentDefense, evolvedSpecies.getBaseDefense());
+        this.currentSpeed = Math.max(this.currentSpeed, evolvedSpecies.getBaseSpeed());
         
         // Update base information
-        this.pokedexNumber = evolvedForm.pokedexNumber;
-        this.name = evolvedForm.name;
-        this.type1 = evolvedForm.type1;
-        this.type2 = evolvedForm.type2;
-        this.baseHP = evolvedForm.baseHP;
-        this.baseAttack = evolvedForm.baseAttack;
-        this.baseDefense = evolvedForm.baseDefense;
-        this.baseSpeed = evolvedForm.baseSpeed;
-        this.evolvesFrom = evolvedForm.evolvesFrom;
-        this.evolvesTo = evolvedForm.evolvesTo;
-        this.evolutionLevel = evolvedForm.evolutionLevel;
+        this.species = evolvedSpecies;
         
         // Retain all moves and held items
     }
@@ -374,35 +433,87 @@ public class Pokemon {
     
     // Getters and Setters
     
+    /**
+     * Gets the species template of this Pokémon.
+     * @return The shared species
+     */
+    public Species getSpecies() { return species; }
+    
+    /**
+     * Gets the normalized search key of this Pokémon's species (see SearchKey).
+     * Evolving re-points the species, so the key always matches the current one.
+     * @return The normalized name and types
+     */
+    public String getSearchKey() { return species.getSearchKey(); }
+    
+    /**
+     * Checks if this Pokémon matches a search query.
+     * Performs a case- and accent-insensitive search on the name and types.
+     * 
+     * @param query The search query to match against
+     * @return true if the Pokémon matches the query, false otherwise
+     */
+    public boolean matchesSearch(String query) {
+        return matchesNormalizedSearch(SearchKey.normalize(query));
+    }
+    
+    /**
+     * Checks if this Pokémon matches a query that is already normalized.
+     * 
+     * @param normalizedQuery The query, normalized with SearchKey.normalize
+     * @return true if the Pokémon matches the query, false otherwise
+     */
+    public boolean matchesNormalizedSearch(String normalizedQuery) {
+        return species.getSearchKey().contains(normalizedQuery);
+    }
+    
     /**
      * Gets the Pokédex number of this Pokémon.
      * @return The unique Pokédex number
      */
-    public int getPokedexNumber() { return pokedexNumber; }
+    public int getPokedexNumber() { return species.getPokedexNumber(); }
     
     /**
      * Gets the name of this Pokémon.
      * @return The Pokémon's name
      */
-    public String getName() { return name; }
+    public String getName() { return species.getName(); }
     
     /**
      * Gets the primary type of this Pokémon.
      * @return The primary type
      */
-    public String getType1() { return type1; }
+    public String getType1() { return species.getType1(); }
     
     /**
      * Gets the secondary type of this Pokémon.
      * @return The secondary type, or null if none
      */
-    public String getType2() { return type2; }
+    public String getType2() { return species.getType2(); }
+    
+    /**
+     * Gets the parsed primary type of this Pokémon.
+     * @return The primary type, or null if it is not a known type
+     */
+    public Type getPrimaryType() { return species.getPrimaryType(); }
+    
+    /**
+     * Gets the parsed secondary type of this Pokémon.
+     * @return The secondary type, or null if none or not a known type
+     */
+    public Type getSecondaryType() { return species.getSecondaryType(); }
+    
+    /**
+     * Gets the bitmask of this Pokémon's types.
+     * @return The type mask (see Type.maskOf)
+     */
+    public int getTypeMask() { return species.getTypeMask(); }
     
     /**
      * Gets the base level of this Pokémon.
      * @return The base level when first encountered
      */
-    public int getBaseLevel() { return baseLevel; }
+    public int getBaseLevel() { return species.getBaseLevel(); }
     
     /**
      * Gets the current level of this Pokémon.
@@ -414,43 +525,43 @@ public class Pokemon {
      * Gets the Pokédex number of the Pokémon this evolves from.
      * @return The pre-evolution Pokédex number, or -1 if none
      */
-    public int getEvolvesFrom() { return evolvesFrom; }
+    public int getEvolvesFrom() { return species.getEvolvesFrom(); }
     
     /**
      * Gets the Pokédex number of the Pokémon this evolves into.
      * @return The evolution Pokédex number, or -1 if none
      */
-    public int getEvolvesTo() { return evolvesTo; }
+    public int getEvolvesTo() { return species.getEvolvesTo(); }
     
     /**
      * Gets the level required for evolution.
      * @return The evolution level requirement
      */
-    public int getEvolutionLevel() { return evolutionLevel; }
+    public int getEvolutionLevel() { return species.getEvolutionLevel(); }
     
     /**
      * Gets the base HP statistic.
      * @return The base HP value
      */
-    public int getBaseHP() { return baseHP; }
+    public int getBaseHP() { return species.getBaseHP(); }
     
     /**
      * Gets the base Attack statistic.
      * @return The base Attack value
      */
-    public int getBaseAttack() { return baseAttack; }
+    public int getBaseAttack() { return species.getBaseAttack(); }
     
     /**
      * Gets the base Defense statistic.
      * @return The base Defense value
      */
-    public int getBaseDefense() { return baseDefense; }
+    public int getBaseDefense() { return species.getBaseDefense(); }
     
     /**
      * Gets the base Speed statistic.
      * @return The base Speed value
      */
-    public int getBaseSpeed() { return baseSpeed; }
+    public int getBaseSpeed() { return species.getBaseSpeed(); }
     
     /**
      * Gets the current HP value.
@@ -515,6 +626,14 @@ public class Pokemon {
      */
     public static int getPokemonCount() { return pokemonCount; }
     
+    /**
+     * Gets the Effort Values of this Pokémon.
+     * @return The HP, Attack, Defense, Speed and Special Defense EVs
+     */
+    public int[] getEVs() {
+        return new int[] { hpEV, attackEV, defenseEV, speedEV, specialDefenseEV };
+    }
+    
     /**
      * Formats Pokémon data for CSV export.
      * Creates a comma-separated string containing all Pokémon attributes
@@ -524,18 +643,18 @@ public class Pokemon {
      */
     public String formatToCSV() {
         StringBuilder sb = new StringBuilder();
-        sb.append(pokedexNumber).append(",");
-        sb.append(name).append(",");
-        sb.append(type1).append(",");
-        sb.append(type2 != null ? type2 : "").append(",");
-        sb.append(baseLevel).append(",");
-        sb.append(evolvesFrom).append(",");
-        sb.append(evolvesTo).append(",");
-        sb.append(evolutionLevel).append(",");
-        sb.append(baseHP).append(",");
-        sb.append(baseAttack).append(",");
-        sb.append(baseDefense).append(",");
-        sb.append(baseSpeed).append(",");
+        sb.append(species.getPokedexNumber()).append(",");
+        sb.append(CsvReader.escape(species.getName())).append(",");
+        sb.append(CsvReader.escape(species.getType1())).append(",");
+        sb.append(CsvReader.escape(species.getType2())).append(",");
+        sb.append(species.getBaseLevel()).append(",");
+        sb.append(species.getEvolvesFrom()).append(",");
+        sb.append(species.getEvolvesTo()).append(",");
+        sb.append(species.getEvolutionLevel()).append(",");
+        sb.append(species.getBaseHP()).append(",");
+        sb.append(species.getBaseAttack()).append(",");
+        sb.append(species.getBaseDefense()).append(",");
+        sb.append(species.getBaseSpeed()).append(",");
         
         // Format moves (separated by semicolons)
         StringBuilder movesStr = new StringBuilder();
@@ -543,10 +662,10 @@ public class Pokemon {
             movesStr.append(moveSet[i].getName());
             if (i < moveCount - 1) movesStr.append(";");
         }
-        sb.append(movesStr.toString()).append(",");
+        sb.append(CsvReader.escape(movesStr.toString())).append(",");
         
         // Format held item
-        sb.append(heldItem != null ? heldItem.getName() : "");
+        sb.append(heldItem != null ? CsvReader.escape(heldItem.getName()) : "");
         
         return sb.toString();
     }
@@ -560,10 +679,10 @@ public class Pokemon {
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
-        sb.append("Pokédex #").append(pokedexNumber).append(": ").append(name);
-        sb.append(" (").append(type1);
-        if (type2 != null && !type2.isEmpty()) {
-            sb.append("/").append(type2);
+        sb.append("Pokédex #").append(species.getPokedexNumber()).append(": ").append(species.getName());
+        sb.append(" (").append(species.getType1());
+        if (species.getType2() != null && !species.getType2().isEmpty()) {
+            sb.append("/").append(species.getType2());
         }
         sb.append(")\n");
         sb.append("Level: ").append(currentLevel).append("\n");
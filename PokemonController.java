@@ -1,4 +1,6 @@
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Controller class for the Enhanced Pokédex System.
@@ -32,6 +34,19 @@ public class PokemonController {
         this.model = model;
     }
     
+    // Global search
+    public List<SearchHit> globalSearch(String query, int limit) {
+        return model.globalSearch(query, limit);
+    }
+    
+    public long getSearchCacheHits() {
+        return model.getSearchCacheHits();
+    }
+    
+    public long getSearchCacheMisses() {
+        return model.getSearchCacheMisses();
+    }
+    
     // Pokémon operations
     public boolean addPokemon(int pokedexNumber, String name, String type1, String type2,
                             int baseLevel, int evolvesFrom, int evolvesTo, int evolutionLevel,
@@ -44,6 +59,58 @@ public class PokemonController {
         return model.searchPokemon(query);
     }
     
+    public SearchPage<Pokemon> searchPokemonPage(String query, int offset, int limit) {
+        return model.searchPokemonPage(query, offset, limit);
+    }
+    
+    public List<Pokemon> queryPokemon(String query) {
+        return model.queryPokemon(query);
+    }
+    
+    public List<Pokemon> fuzzySearchPokemon(String query, int maxDistance) {
+        return model.fuzzySearchPokemon(query, maxDistance);
+    }
+    
+    public List<String> completePokemonNames(String prefix, int limit) {
+        return model.completePokemonNames(prefix, limit);
+    }
+    
+    public List<Pokemon> searchPokemonByTypes(Collection<Type> types, boolean matchAll) {
+        return model.searchPokemonByTypes(types, matchAll);
+    }
+    
+    public List<Pokemon> searchPokemonByTypeExpression(String expression) {
+        return model.searchPokemonByTypeExpression(expression);
+    }
+    
+    public List<Pokemon> searchPokemonByStatRange(Stat stat, int min, int max) {
+        return model.searchPokemonByStatRange(stat, min, max);
+    }
+    
+    public int countPokemonByStatRange(Stat stat, int min, int max) {
+        return model.countPokemonByStatRange(stat, min, max);
+    }
+    
+    public List<Pokemon> getTopSpecies(Stat stat, int k) {
+        return model.getTopSpecies(stat, k);
+    }
+    
+    public List<StatLeaderboard.Entry> getTopOwnedPokemon(Stat stat, int k) {
+        return model.getTopOwnedPokemon(stat, k);
+    }
+    
+    public SpeciesColumns.StatSummary summarizeStat(Stat stat, Type type) {
+        return model.summarizeStat(stat, type);
+    }
+    
+    public Map<Type, SpeciesColumns.StatSummary> summarizeStatByType(Stat stat, boolean parallel) {
+        return model.summarizeStatByType(stat, parallel);
+    }
+    
+    public int[] getStatHistogram(Stat stat, Type type, int bucketWidth) {
+        return model.getStatHistogram(stat, type, bucketWidth);
+    }
+    
     public List<Pokemon> getAllPokemon() {
         return model.getPokemonList();
     }
@@ -65,6 +132,30 @@ public class PokemonController {
         return model.searchMoves(query);
     }
     
+    public SearchPage<Move> searchMovesPage(String query, int offset, int limit) {
+        return model.searchMovesPage(query, offset, limit);
+    }
+    
+    public List<Move> queryMoves(String query) {
+        return model.queryMoves(query);
+    }
+    
+    public List<Move> fuzzySearchMoves(String query, int maxDistance) {
+        return model.fuzzySearchMoves(query, maxDistance);
+    }
+    
+    public List<String> completeMoveNames(String prefix, int limit) {
+        return model.completeMoveNames(prefix, limit);
+    }
+    
+    public List<Move> searchMovesByWords(String query) {
+        return model.searchMovesByWords(query);
+    }
+    
+    public int addMoves(List<Move> moves) {
+        return model.addMoves(moves);
+    }
+    
     public List<Move> getAllMoves() {
         return model.getMoveList();
     }
@@ -87,6 +178,30 @@ public class PokemonController {
         return model.searchItems(query);
     }
     
+    public SearchPage<Item> searchItemsPage(String query, int offset, int limit) {
+        return model.searchItemsPage(query, offset, limit);
+    }
+    
+    public List<Item> queryItems(String query) {
+        return model.queryItems(query);
+    }
+    
+    public List<Item> fuzzySearchItems(String query, int maxDistance) {
+        return model.fuzzySearchItems(query, maxDistance);
+    }
+    
+    public List<String> completeItemNames(String prefix, int limit) {
+        return model.completeItemNames(prefix, limit);
+    }
+    
+    public List<Item> searchItemsByWords(String query) {
+        return model.searchItemsByWords(query);
+    }
+    
+    public int addItems(List<Item> items) {
+        return model.addItems(items);
+    }
+    
     public List<Item> getAllItems() {
         return model.getItemList();
     }
@@ -100,6 +215,26 @@ public class PokemonController {
         return model.searchTrainers(query);
     }
     
+    public SearchPage<Trainer> searchTrainersPage(String query, int offset, int limit) {
+        return model.searchTrainersPage(query, offset, limit);
+    }
+    
+    public List<Trainer> queryTrainers(String query) {
+        return model.queryTrainers(query);
+    }
+    
+    public List<Trainer> fuzzySearchTrainers(String query, int maxDistance) {
+        return model.fuzzySearchTrainers(query, maxDistance);
+    }
+    
+    public List<String> completeTrainerNames(String prefix, int limit) {
+        return model.completeTrainerNames(prefix, limit);
+    }
+    
+    public List<Trainer> searchTrainersByWords(String query) {
+        return model.searchTrainersByWords(query);
+    }
+    
     public List<Trainer> getAllTrainers() {
         return model.getTrainerList();
     }
@@ -107,6 +242,10 @@ public class PokemonController {
     public void saveTrainersToCSV(String filename) {
         model.saveTrainersToCSV(filename);
     }
+
+    public void saveSnapshot(String filename) {
+        model.saveSnapshot(filename);
+    }
     
     public void loadTrainersFromCSV(String filename) {
         model.loadTrainersFromCSV(filename);
@@ -117,7 +256,23 @@ public class PokemonController {
         return model.findPokemonByName(name);
     }
     
+    public Pokemon findPokemonByPokedexNumber(int pokedexNumber) {
+        return model.findPokemonByPokedexNumber(pokedexNumber);
+    }
+    
+    public List<Pokemon> getEvolutionFamily(int pokedexNumber) {
+        return model.getEvolutionGraph().getFamily(pokedexNumber);
+    }
+    
+    public Pokemon getFinalFormAtLevel(int pokedexNumber, int level) {
+        return model.getEvolutionGraph().getFinalFormAtLevel(pokedexNumber, level);
+    }
+    
     public Item findItemByName(String name) {
         return model.findItemByName(name);
     }
+    
+    public Move findMoveByName(String name) {
+        return model.findMoveByName(name);
+    }
 } 
\ No newline at end of file
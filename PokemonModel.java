@@ -1,5 +1,17 @@
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.io.*;
+import java.nio.ByteBuffer;
 
 /**
  * Model class for the Enhanced Pokédex System.
@@ -21,6 +33,35 @@ import java.io.*;
  * @since 2024
  */
 public class PokemonModel {
+    /** Time after which the global search stops expanding prefixes */
+    private static final long GLOBAL_SEARCH_BUDGET_NANOS = 20_000_000L;
+    /** Number of search results kept in the search cache */
+    private static final int SEARCH_CACHE_CAPACITY = 128;
+    /**
+     * Default number of rows a search must check before it is split across
+     * the common ForkJoinPool. This is an unmeasured placeholder: a match
+     * test costs about 20 ns per row, so a few thousand rows should pay
+     * for forking, but the crossover has not been measured on a machine
+     * with more than one core. Tune it with pokedex.parallelSearchThreshold.
+     */
+    private static final int DEFAULT_PARALLEL_SEARCH_THRESHOLD = 8192;
+    /**
+     * Default size in bytes from which CSV files are memory-mapped and
+     * parsed in parallel. Smaller files parse in a few milliseconds.
+     */
+    private static final long DEFAULT_MAPPED_LOAD_THRESHOLD = 8L << 20;
+    /** Number of parsed structured queries kept for reuse */
+    private static final int PARSED_QUERY_CAPACITY = 64;
+    /** Binary snapshot loaded at startup instead of the CSV files when it is current */
+    public static final String SNAPSHOT_FILE = "pokedex.snapshot";
+    /** Base name of the journal of trainer changes made since the snapshot */
+    public static final String JOURNAL_FILE = "pokedex.journal";
+    /**
+     * Default journal size in bytes from which the snapshot is rewritten
+     * in the background and the journal restarted, so replay at startup
+     * stays short.
+     */
+    private static final long DEFAULT_JOURNAL_COMPACTION_BYTES = 1L << 20;
     /** List to store all Pokémon data */
     private List<Pokemon> pokemonList = new ArrayList<>();
     /** List to store all move data */
@@ -29,6 +70,73 @@ public class PokemonModel {
     private List<Item> itemList = new ArrayList<>();
     /** List to store all trainer data */
     private List<Trainer> trainerList = new ArrayList<>();
+    /** Species lookup shared with this model's trainers */
+    private SpeciesRegistry speciesRegistry = new SpeciesRegistry();
+    /** Rows of pokemonList indexed by type */
+    private TypeIndex typeIndex = new TypeIndex();
+    /** Base stat range index over pokemonList (rebuilt on first use after changes) */
+    private StatIndex statIndex;
+    /** Columnar copy of pokemonList for aggregates (rebuilt on first use after changes) */
+    private SpeciesColumns speciesColumns;
+    /** Stat leaderboards over every trainer-owned Pokémon */
+    private StatLeaderboard leaderboard = new StatLeaderboard();
+    /** Word index over move text fields, keyed by position in moveList */
+    private TokenIndex moveTokens = new TokenIndex();
+    /** Word index over item text fields, keyed by position in itemList */
+    private TokenIndex itemTokens = new TokenIndex();
+    /** Word index over trainer text fields, keyed by position in trainerList */
+    private TokenIndex trainerTokens = new TokenIndex();
+    /** Substring (trigram) indexes, keyed by position in each list */
+    private TrigramIndex pokemonTrigrams = new TrigramIndex();
+    private TrigramIndex moveTrigrams = new TrigramIndex();
+    private TrigramIndex itemTrigrams = new TrigramIndex();
+    private TrigramIndex trainerTrigrams = new TrigramIndex();
+    /** Typo-tolerant name indexes over each list */
+    private BKTree<Pokemon> pokemonFuzzy = new BKTree<>();
+    private BKTree<Move> moveFuzzy = new BKTree<>();
+    private BKTree<Item> itemFuzzy = new BKTree<>();
+    private BKTree<Trainer> trainerFuzzy = new BKTree<>();
+    /** Name autocompleters over each list (rebuilt on first use after changes) */
+    private NameCompleter pokemonNames;
+    private NameCompleter moveNames;
+    private NameCompleter itemNames;
+    private NameCompleter trainerNames;
+    /** Incremented by every change to the lists; cached search results are only valid for one version */
+    private long version;
+    /** true once a move, item or trainer was edited in place; its list's indexes are rebuilt on first use */
+    private boolean moveIndexesStale;
+    private boolean itemIndexesStale;
+    private boolean trainerIndexesStale;
+    /** Recent search results, checked against version */
+    private SearchCache searchCache = new SearchCache(SEARCH_CACHE_CAPACITY);
+    /** Rows a search must check before it runs in parallel (see setParallelSearchThreshold) */
+    private volatile int parallelSearchThreshold =
+        Integer.getInteger("pokedex.parallelSearchThreshold", DEFAULT_PARALLEL_SEARCH_THRESHOLD);
+    /** Size from which CSV files are loaded in parallel (see setMappedLoadThreshold) */
+    private volatile long mappedLoadThreshold =
+        Long.getLong("pokedex.mappedLoadThreshold", DEFAULT_MAPPED_LOAD_THRESHOLD);
+    /** Journal size from which it is compacted into the snapshot (see setJournalCompactionBytes) */
+    private volatile long journalCompactionBytes =
+        Long.getLong("pokedex.journalCompactionBytes", DEFAULT_JOURNAL_COMPACTION_BYTES);
+    /** Journal of trainer changes since the snapshot, or null if it could not be opened */
+    private TrainerJournal journal;
+    /** Writes compacted snapshots in the background (created on first use) */
+    private ExecutorService snapshotWriter;
+    /** The last snapshot write handed to snapshotWriter, or null */
+    private Future<?> compaction;
+    /** Recently parsed structured queries, least recently used first */
+    private Map<String, StructuredQuery> parsedQueries = new LinkedHashMap<String, StructuredQuery>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, StructuredQuery> eldest) {
+            return size() > PARSED_QUERY_CAPACITY;
+        }
+    };
+    /** Combined index over all four lists for the global search (rebuilt on first use after changes) */
+    private GlobalSearchIndex globalIndex;
+    /** Moves indexed by their case-normalized name */
+    private Map<String, Move> moveIndex = new HashMap<>();
+    /** Items indexed by their case-normalized name */
+    private Map<String, Item> itemIndex = new HashMap<>();
     
     /**
      * Constructor - initializes the system with default data.
@@ -42,10 +150,29 @@ public class PokemonModel {
     
     /**
      * Initialize the system with default data.
-     * Sets up all default moves and items, then loads
-     * Pokémon and trainer data from CSV files.
+     * Loads the snapshot file if it is at least as new as the CSV files,
+     * and replays the trainer changes journaled since. Otherwise sets up
+     * all default moves and items, loads Pokémon and trainer data from
+     * CSV files, discards the old journal and writes a new snapshot for
+     * the next start. A journal that still holds trainer changes is never
+     * discarded this way: it is kept, with a warning, and nothing is
+     * journaled or snapshotted until the conflict is resolved.
      */
     private void initializeSystem() {
+        if (isSnapshotCurrent(SNAPSHOT_FILE, "pokemon_data.csv", "trainers_data.csv")) {
+            long sequence = -1;
+            try {
+                sequence = restoreSnapshot(SNAPSHOT_FILE);
+                System.out.println("Loaded data from " + SNAPSHOT_FILE);
+            } catch (Exception e) {
+                System.err.println("Error loading snapshot, falling back to CSV: " + e.getMessage());
+            }
+            if (sequence >= 0) {
+                openJournal(sequence, true);
+                return;
+            }
+        }
+
         // Always initialize moves and items with hardcoded defaults
         initializeDefaultMoves();
         initializeDefaultItems();
@@ -67,6 +194,189 @@ public class PokemonModel {
             System.err.println("Error loading trainers from CSV: " + e.getMessage());
             throw new RuntimeException("Failed to load trainer data from trainers_data.csv", e);
         }
+
+        try {
+            if (TrainerJournal.hasRecords(JOURNAL_FILE)) {
+                System.err.println("Warning: the CSV files are newer than " + SNAPSHOT_FILE + ", but " + JOURNAL_FILE
+                    + " holds trainer changes not in them. Keeping the journal; trainer changes will not be"
+                    + " journaled. Touch " + SNAPSHOT_FILE + " to load it and the journal instead, or delete "
+                    + JOURNAL_FILE + ".* to discard them.");
+                return;
+            }
+        } catch (IOException e) {
+            System.err.println("Error reading " + JOURNAL_FILE + ", trainer changes will not be journaled: " + e.getMessage());
+            return;
+        }
+        openJournal(0, false);
+        try {
+            saveSnapshot(SNAPSHOT_FILE);
+        } catch (Exception e) {
+            System.err.println("Could not write snapshot: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Opens the journal and attaches it to every trainer. If another
+     * instance holds the journal, its records are still replayed, but
+     * this model journals nothing and leaves SNAPSHOT_FILE alone. The
+     * same goes if some records could not be replayed, so that they stay
+     * in the journal instead of being lost by the next compaction.
+     *
+     * @param snapshotSequence The last journal record the loaded snapshot includes
+     * @param replay true to replay the later records, false to discard them
+     */
+    private void openJournal(long snapshotSequence, boolean replay) {
+        try {
+            journal = TrainerJournal.open(JOURNAL_FILE, snapshotSequence, replay ? journalResolver() : null);
+        } catch (IOException e) {
+            System.err.println("Error opening " + JOURNAL_FILE + ", trainer changes will not be journaled: " + e.getMessage());
+        }
+        if (journal == null) {
+            return;
+        }
+        if (journal.getUnreplayedRecords() > 0) {
+            System.err.println("Warning: " + journal.getUnreplayedRecords() + " trainer changes in " + JOURNAL_FILE
+                + " could not be replayed; keeping them, trainer changes will not be journaled");
+            return;
+        }
+        if (!journal.isWritable()) {
+            System.err.println(JOURNAL_FILE + " is in use, trainer changes will not be journaled");
+            return;
+        }
+        journal.setAppendListener(this::journalAppended);
+        for (Trainer trainer : trainerList) {
+            trainer.setJournal(journal);
+        }
+    }
+
+    /**
+     * Looks up the trainers and entities journal records refer to.
+     */
+    private TrainerJournal.Resolver journalResolver() {
+        Map<Integer, Trainer> trainersByID = new HashMap<>();
+        for (Trainer trainer : trainerList) {
+            trainersByID.put(trainer.getTrainerID(), trainer);
+        }
+        return new TrainerJournal.Resolver() {
+            @Override
+            public Trainer findTrainer(int trainerID) {
+                return trainersByID.get(trainerID);
+            }
+
+            @Override
+            public Item findItem(String name) {
+                return findItemByName(name);
+            }
+
+            @Override
+            public Move findMove(String name) {
+                return findMoveByName(name);
+            }
+
+            @Override
+            public Species findSpecies(String name) {
+                Pokemon pokemon = speciesRegistry.findByName(name);
+                return pokemon != null ? pokemon.getSpecies() : null;
+            }
+
+            @Override
+            public void addTrainer(Trainer trainer) {
+                trainer.setSpeciesRegistry(speciesRegistry);
+                trainer.setLeaderboard(leaderboard);
+                indexTrainer(trainerList.size(), trainer);
+                trainerList.add(trainer);
+                trainersByID.put(trainer.getTrainerID(), trainer);
+            }
+        };
+    }
+
+    /**
+     * Compacts the journal in the background once it has grown past
+     * journalCompactionBytes, unless a compaction is still being written.
+     * Called on the thread that changed a trainer, so the snapshot is
+     * encoded from a consistent state.
+     */
+    private void journalAppended() {
+        if (journal.getBytesSinceRotate() < journalCompactionBytes
+                || (compaction != null && !compaction.isDone())) {
+            return;
+        }
+        try {
+            compaction = compact(true);
+        } catch (IOException e) {
+            System.err.println("Could not compact " + JOURNAL_FILE + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Starts a new journal segment, encodes the snapshot here and writes
+     * it on the snapshot writer thread, which then deletes the journal
+     * segments the snapshot covers.
+     *
+     * @param background true to report write errors on System.err, false
+     *        to leave them to the caller of get() on the returned Future
+     * @return The pending write
+     * @throws IOException if the journal could not be written
+     */
+    private Future<?> compact(boolean background) throws IOException {
+        TrainerJournal compacted = journal;
+        long sequence = compacted.rotate();
+        ByteBuffer encoded = new ModelSnapshot(pokemonList, moveList, itemList, trainerList, sequence).encode();
+        if (snapshotWriter == null) {
+            snapshotWriter = Executors.newSingleThreadExecutor(task -> {
+                Thread thread = new Thread(task, "snapshot-writer");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return snapshotWriter.submit(() -> {
+            try {
+                ModelSnapshot.writeFile(encoded, SNAPSHOT_FILE);
+            } catch (IOException e) {
+                if (background) {
+                    System.err.println("Could not write snapshot: " + e.getMessage());
+                    return null;
+                }
+                throw e;
+            }
+            compacted.deleteSegmentsThrough(sequence);
+            return null;
+        });
+    }
+
+    /**
+     * Rewrites the snapshot right away when a list was loaded from a file
+     * while the journal is open, since older journal records may no longer
+     * apply to it, and attaches the journal to the current trainers.
+     */
+    private void listsReplaced() {
+        if (!isJournaling()) {
+            return;
+        }
+        for (Trainer trainer : trainerList) {
+            trainer.setJournal(journal);
+        }
+        saveSnapshot(SNAPSHOT_FILE);
+    }
+
+    /**
+     * Checks if this model holds the journal and records trainer changes in it
+     */
+    private boolean isJournaling() {
+        return journal != null && journal.isWritable();
+    }
+
+    private static boolean isSnapshotCurrent(String snapshot, String... csvFiles) {
+        File snapshotFile = new File(snapshot);
+        if (!snapshotFile.isFile()) {
+            return false;
+        }
+        for (String csv : csvFiles) {
+            if (new File(csv).lastModified() > snapshotFile.lastModified()) {
+                return false;
+            }
+        }
+        return true;
     }
     
     // Core business logic methods
@@ -94,24 +404,25 @@ public class PokemonModel {
                             int baseHP, int baseAttack, int baseDefense, int baseSpeed) {
 
         // Check for duplicate Pokédex number
-        for (Pokemon pokemon : pokemonList) {
-            if (pokemon.getPokedexNumber() == pokedexNumber) {
-                return false;
-            }
+        if (speciesRegistry.contains(pokedexNumber)) {
+            return false;
         }
 
         // Check for duplicate name
-        for (Pokemon pokemon : pokemonList) {
-            if (pokemon.getName().equalsIgnoreCase(name)) {
-                return false;
-            }
+        if (speciesRegistry.containsName(name)) {
+            return false;
         }
 
         Pokemon newPokemon = new Pokemon(pokedexNumber, name, type1, type2, baseLevel,
                                        evolvesFrom, evolvesTo, evolutionLevel,
-                                       baseHP, baseAttack, baseDefense, baseSpeed);
+                                       baseHP, baseAttack, baseDefense, baseSpeed,
+                                       getDefaultMoves());
 
+        indexPokemon(pokemonList.size(), newPokemon);
         pokemonList.add(newPokemon);
+        speciesRegistry.register(newPokemon);
+        statIndex = null;
+        speciesColumns = null;
         
         return true;
     }
@@ -120,17 +431,200 @@ public class PokemonModel {
      * Search Pokémon by name or type
      */
     public List<Pokemon> searchPokemon(String query) {
-        List<Pokemon> results = new ArrayList<>();
-        String lowerQuery = query.toLowerCase();
+        String normalizedQuery = SearchKey.normalize(query);
+        List<Pokemon> cached = searchCache.get(SearchHit.Kind.POKEMON, normalizedQuery, version);
+        if (cached != null) {
+            return cached;
+        }
+        return searchCache.put(SearchHit.Kind.POKEMON, normalizedQuery, version,
+                               collectMatches(pokemonScan(normalizedQuery), pokemonList));
+    }
+
+    /**
+     * Search Pokémon by name or type, one page at a time.
+     *
+     * @param query The search query
+     * @param offset The number of matches to skip
+     * @param limit The maximum number of matches to return
+     * @return The page and the total number of matches
+     */
+    public SearchPage<Pokemon> searchPokemonPage(String query, int offset, int limit) {
+        return searchPage(SearchHit.Kind.POKEMON, SearchKey.normalize(query), this::pokemonScan, pokemonList, offset, limit);
+    }
+
+    /**
+     * Gets the rows searchPokemon checks and the test each row must pass.
+     */
+    private RowScan pokemonScan(String normalizedQuery) {
+        // Long enough queries only need to check the trigram candidates
+        int[] candidates = pokemonTrigrams.candidates(normalizedQuery);
+        if (candidates != null) {
+            return new RowScan(candidates, pokemonList.size(),
+                               row -> pokemonList.get(row).matchesNormalizedSearch(normalizedQuery));
+        }
+
+        BitSet typeRows = typeIndex.rowsWithTypeNameContaining(normalizedQuery);
+        return new RowScan(null, pokemonList.size(),
+                           row -> typeRows.get(row) || pokemonList.get(row).matchesNormalizedSearch(normalizedQuery));
+    }
+
+    private void indexPokemon(int row, Pokemon pokemon) {
+        typeIndex.add(row, pokemon);
+        pokemonFuzzy.add(pokemon.getName(), pokemon);
+        pokemonNames = null;
+        globalIndex = null;
+        version++;
+        pokemonTrigrams.add(row, pokemon.getName(), pokemon.getType1(), pokemon.getType2());
+    }
+
+    /**
+     * Find Pokémon by type using the type index.
+     *
+     * @param types The types to filter by
+     * @param matchAll true to require every type (AND), false to require any (OR)
+     * @return Matching Pokémon in list order
+     */
+    public List<Pokemon> searchPokemonByTypes(Collection<Type> types, boolean matchAll) {
+        BitSet rows = matchAll ? typeIndex.rowsWithAllTypes(types) : typeIndex.rowsWithAnyType(types);
+        return pokemonAtRows(rows);
+    }
+
+    /**
+     * Find Pokémon by a type expression such as "water AND flying" or
+     * "fire OR dragon". AND binds tighter than OR, and type names are
+     * case-insensitive. An unknown type name matches nothing.
+     *
+     * @param expression The type expression
+     * @return Matching Pokémon in list order
+     */
+    public List<Pokemon> searchPokemonByTypeExpression(String expression) {
+        BitSet rows = new BitSet();
+        for (String group : expression.trim().split("(?i)\\s+or\\s+")) {
+            List<Type> types = new ArrayList<>();
+            boolean valid = true;
+            for (String name : group.trim().split("(?i)\\s+and\\s+")) {
+                Type type = findTypeIgnoreCase(name.trim());
+                if (type == null) {
+                    valid = false;
+                    break;
+                }
+                types.add(type);
+            }
+            if (valid) {
+                rows.or(typeIndex.rowsWithAllTypes(types));
+            }
+        }
+        return pokemonAtRows(rows);
+    }
+
+    /**
+     * Find Pokémon whose base stat lies in a range, using the stat index.
+     *
+     * @param stat The stat to filter on
+     * @param min The lowest accepted value (inclusive)
+     * @param max The highest accepted value (inclusive)
+     * @return Read-only view of matching Pokémon in ascending stat order
+     */
+    public List<Pokemon> searchPokemonByStatRange(Stat stat, int min, int max) {
+        return getStatIndex().range(stat, min, max);
+    }
+
+    /**
+     * Count Pokémon whose base stat lies in a range, using the stat index.
+     *
+     * @param stat The stat to filter on
+     * @param min The lowest accepted value (inclusive)
+     * @param max The highest accepted value (inclusive)
+     * @return The number of matching Pokémon
+     */
+    public int countPokemonByStatRange(Stat stat, int min, int max) {
+        return getStatIndex().count(stat, min, max);
+    }
+
+    /**
+     * Get the species with the highest base value of a stat.
+     *
+     * @param stat The stat to rank by
+     * @param k The maximum number of species to return
+     * @return Up to k species, highest value first
+     */
+    public List<Pokemon> getTopSpecies(Stat stat, int k) {
+        return getStatIndex().top(stat, k);
+    }
+
+    /**
+     * Get the trainer-owned Pokémon with the highest current value of a stat.
+     *
+     * @param stat The stat to rank by
+     * @param k The maximum number of Pokémon to return
+     * @return Up to k leaderboard entries, highest value first
+     */
+    public List<StatLeaderboard.Entry> getTopOwnedPokemon(Stat stat, int k) {
+        return leaderboard.top(stat, k);
+    }
 
-        for (Pokemon pokemon : pokemonList) {
-            if (pokemon.getName().toLowerCase().contains(lowerQuery) ||
-                pokemon.getType1().toLowerCase().contains(lowerQuery) ||
-                (pokemon.getType2() != null && pokemon.getType2().toLowerCase().contains(lowerQuery))) {
-                results.add(pokemon);
+    /**
+     * Summarize a base stat over all Pokémon, or over one type.
+     *
+     * @param stat The stat to summarize
+     * @param type The type to restrict to, or null for all Pokémon
+     * @return Count, minimum, maximum and mean of the stat
+     */
+    public SpeciesColumns.StatSummary summarizeStat(Stat stat, Type type) {
+        return getSpeciesColumns().summarize(stat, type);
+    }
+
+    /**
+     * Summarize a base stat for every type.
+     *
+     * @param stat The stat to summarize
+     * @param parallel true to split large catalogs across threads
+     * @return A summary for each type
+     */
+    public Map<Type, SpeciesColumns.StatSummary> summarizeStatByType(Stat stat, boolean parallel) {
+        return getSpeciesColumns().summarizeByType(stat, parallel);
+    }
+
+    /**
+     * Build a histogram of a base stat over all Pokémon, or over one type.
+     *
+     * @param stat The stat to bucket
+     * @param type The type to restrict to, or null for all Pokémon
+     * @param bucketWidth The width of each bucket
+     * @return The bucket counts
+     */
+    public int[] getStatHistogram(Stat stat, Type type, int bucketWidth) {
+        return getSpeciesColumns().histogram(stat, type, bucketWidth);
+    }
+
+    private SpeciesColumns getSpeciesColumns() {
+        if (speciesColumns == null) {
+            speciesColumns = new SpeciesColumns(pokemonList);
+        }
+        return speciesColumns;
+    }
+
+    private StatIndex getStatIndex() {
+        if (statIndex == null) {
+            statIndex = new StatIndex(pokemonList);
+        }
+        return statIndex;
+    }
+
+    private static Type findTypeIgnoreCase(String name) {
+        for (Type type : Type.values()) {
+            if (type.getDisplayName().equalsIgnoreCase(name)) {
+                return type;
             }
         }
+        return null;
+    }
 
+    private List<Pokemon> pokemonAtRows(BitSet rows) {
+        List<Pokemon> results = new ArrayList<>(rows.cardinality());
+        for (int i = rows.nextSetBit(0); i >= 0 && i < pokemonList.size(); i = rows.nextSetBit(i + 1)) {
+            results.add(pokemonList.get(i));
+        }
         return results;
     }
 
@@ -138,31 +632,81 @@ public class PokemonModel {
      * Add move to database
      */
     public boolean addMove(String name, String description, String classification, String type1, String type2) {
-        for (Move move : moveList) {
-            if (move.getName().equalsIgnoreCase(name)) {
-                return false;
-            }
+        ensureMoveIndexes();
+        if (moveIndex.containsKey(SpeciesRegistry.normalizeName(name))) {
+            return false;
         }
 
         Move newMove = new Move(name, description, classification, type1, type2);
+        indexMove(moveList.size(), newMove);
         moveList.add(newMove);
+        moveIndex.put(SpeciesRegistry.normalizeName(name), newMove);
         
         return true;
     }
 
+    /**
+     * Add a batch of moves to the database.
+     * The whole batch is checked against the move registry, and against
+     * itself, before anything is added. Moves whose names already exist
+     * are skipped.
+     *
+     * @param moves The moves to add
+     * @return The number of moves that were added
+     */
+    public int addMoves(List<Move> moves) {
+        ensureMoveIndexes();
+        Map<String, Move> accepted = new LinkedHashMap<>();
+        for (Move move : moves) {
+            String key = SpeciesRegistry.normalizeName(move.getName());
+            if (!moveIndex.containsKey(key)) {
+                accepted.putIfAbsent(key, move);
+            }
+        }
+
+        for (Move move : accepted.values()) {
+            indexMove(moveList.size(), move);
+            moveList.add(move);
+        }
+        moveIndex.putAll(accepted);
+
+        return accepted.size();
+    }
+
     /**
      * Search moves by keyword
      */
     public List<Move> searchMoves(String query) {
-        List<Move> results = new ArrayList<>();
-
-        for (Move move : moveList) {
-            if (move.matchesSearch(query)) {
-                results.add(move);
-            }
+        String normalizedQuery = SearchKey.normalize(query);
+        List<Move> cached = searchCache.get(SearchHit.Kind.MOVE, normalizedQuery, version);
+        if (cached != null) {
+            return cached;
         }
+        return searchCache.put(SearchHit.Kind.MOVE, normalizedQuery, version,
+                               collectMatches(moveScan(normalizedQuery), moveList));
+    }
 
-        return results;
+    /**
+     * Search moves by keyword, one page at a time.
+     *
+     * @param query The search query
+     * @param offset The number of matches to skip
+     * @param limit The maximum number of matches to return
+     * @return The page and the total number of matches
+     */
+    public SearchPage<Move> searchMovesPage(String query, int offset, int limit) {
+        return searchPage(SearchHit.Kind.MOVE, SearchKey.normalize(query), this::moveScan, moveList, offset, limit);
+    }
+
+    /**
+     * Gets the rows searchMoves checks and the test each row must pass.
+     */
+    private RowScan moveScan(String normalizedQuery) {
+        // Long enough queries only need to check the trigram candidates
+        ensureMoveIndexes();
+        int[] candidates = moveTrigrams.candidates(normalizedQuery);
+        return new RowScan(candidates, moveList.size(),
+                           row -> moveList.get(row).matchesNormalizedSearch(normalizedQuery));
     }
 
     /**
@@ -170,32 +714,81 @@ public class PokemonModel {
      */
     public boolean addItem(String name, String category, String description, String effect,
                          int buyingPrice, int sellingPrice) {
-
-        for (Item item : itemList) {
-            if (item.getName().equalsIgnoreCase(name)) {
-                return false;
-            }
+        ensureItemIndexes();
+        if (itemIndex.containsKey(SpeciesRegistry.normalizeName(name))) {
+            return false;
         }
 
         Item newItem = new Item(name, category, description, effect, buyingPrice, sellingPrice);
+        indexItem(itemList.size(), newItem);
         itemList.add(newItem);
+        itemIndex.put(SpeciesRegistry.normalizeName(name), newItem);
         
         return true;
     }
 
+    /**
+     * Add a batch of items to the database.
+     * The whole batch is checked against the item registry, and against
+     * itself, before anything is added. Items whose names already exist
+     * are skipped.
+     *
+     * @param items The items to add
+     * @return The number of items that were added
+     */
+    public int addItems(List<Item> items) {
+        ensureItemIndexes();
+        Map<String, Item> accepted = new LinkedHashMap<>();
+        for (Item item : items) {
+            String key = SpeciesRegistry.normalizeName(item.getName());
+            if (!itemIndex.containsKey(key)) {
+                accepted.putIfAbsent(key, item);
+            }
+        }
+
+        for (Item item : accepted.values()) {
+            indexItem(itemList.size(), item);
+            itemList.add(item);
+        }
+        itemIndex.putAll(accepted);
+
+        return accepted.size();
+    }
+
     /**
      * Search items by keyword
      */
     public List<Item> searchItems(String query) {
-        List<Item> results = new ArrayList<>();
-
-        for (Item item : itemList) {
-            if (item.matchesSearch(query)) {
-                results.add(item);
-            }
+        String normalizedQuery = SearchKey.normalize(query);
+        List<Item> cached = searchCache.get(SearchHit.Kind.ITEM, normalizedQuery, version);
+        if (cached != null) {
+            return cached;
         }
+        return searchCache.put(SearchHit.Kind.ITEM, normalizedQuery, version,
+                               collectMatches(itemScan(normalizedQuery), itemList));
+    }
 
-        return results;
+    /**
+     * Search items by keyword, one page at a time.
+     *
+     * @param query The search query
+     * @param offset The number of matches to skip
+     * @param limit The maximum number of matches to return
+     * @return The page and the total number of matches
+     */
+    public SearchPage<Item> searchItemsPage(String query, int offset, int limit) {
+        return searchPage(SearchHit.Kind.ITEM, SearchKey.normalize(query), this::itemScan, itemList, offset, limit);
+    }
+
+    /**
+     * Gets the rows searchItems checks and the test each row must pass.
+     */
+    private RowScan itemScan(String normalizedQuery) {
+        // Long enough queries only need to check the trigram candidates
+        ensureItemIndexes();
+        int[] candidates = itemTrigrams.candidates(normalizedQuery);
+        return new RowScan(candidates, itemList.size(),
+                           row -> itemList.get(row).matchesNormalizedSearch(normalizedQuery));
     }
 
     /**
@@ -203,7 +796,14 @@ public class PokemonModel {
      */
     public boolean addTrainer(String name, String birthdate, String sex, String hometown, String description) {
         Trainer newTrainer = new Trainer(name, birthdate, sex, hometown, description);
+        newTrainer.setSpeciesRegistry(speciesRegistry);
+        newTrainer.setLeaderboard(leaderboard);
+        indexTrainer(trainerList.size(), newTrainer);
         trainerList.add(newTrainer);
+        if (isJournaling()) {
+            journal.recordAddTrainer(newTrainer);
+            newTrainer.setJournal(journal);
+        }
         
         return true;
     }
@@ -212,14 +812,642 @@ public class PokemonModel {
      * Search trainers by keyword
      */
     public List<Trainer> searchTrainers(String query) {
-        List<Trainer> results = new ArrayList<>();
+        String normalizedQuery = SearchKey.normalize(query);
+        List<Trainer> cached = searchCache.get(SearchHit.Kind.TRAINER, normalizedQuery, version);
+        if (cached != null) {
+            return cached;
+        }
+        return searchCache.put(SearchHit.Kind.TRAINER, normalizedQuery, version,
+                               collectMatches(trainerScan(normalizedQuery), trainerList));
+    }
 
-        for (Trainer trainer : trainerList) {
-            if (trainer.matchesSearch(query)) {
-                results.add(trainer);
+    /**
+     * Search trainers by keyword, one page at a time.
+     *
+     * @param query The search query
+     * @param offset The number of matches to skip
+     * @param limit The maximum number of matches to return
+     * @return The page and the total number of matches
+     */
+    public SearchPage<Trainer> searchTrainersPage(String query, int offset, int limit) {
+        return searchPage(SearchHit.Kind.TRAINER, SearchKey.normalize(query), this::trainerScan, trainerList, offset, limit);
+    }
+
+    /**
+     * Gets the rows searchTrainers checks and the test each row must pass.
+     */
+    private RowScan trainerScan(String normalizedQuery) {
+        // Long enough queries only need to check the trigram candidates
+        ensureTrainerIndexes();
+        int[] candidates = trainerTrigrams.candidates(normalizedQuery);
+        return new RowScan(candidates, trainerList.size(),
+                           row -> trainerList.get(row).matchesNormalizedSearch(normalizedQuery));
+    }
+
+    /**
+     * Runs a row scan and collects the matching entities in list order.
+     */
+    private <T> List<T> collectMatches(RowScan scan, List<T> list) {
+        List<T> results = new ArrayList<>();
+        scan.forEachMatch(row -> results.add(list.get(row)));
+        return results;
+    }
+
+    /**
+     * Gets one page of a search. The page is cut from the cached full
+     * result when there is one; otherwise the scan counts every match
+     * but only keeps the ones on the page.
+     */
+    private <T> SearchPage<T> searchPage(SearchHit.Kind kind, String normalizedQuery,
+                                         Function<String, RowScan> scanner, List<T> list,
+                                         int offset, int limit) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Invalid page: offset " + offset + ", limit " + limit);
+        }
+
+        List<T> cached = searchCache.get(kind, normalizedQuery, version);
+        if (cached != null) {
+            int from = Math.min(offset, cached.size());
+            int to = (int) Math.min((long) offset + limit, cached.size());
+            return new SearchPage<>(cached.subList(from, to), offset, cached.size(), version);
+        }
+
+        List<T> items = new ArrayList<>(Math.min(limit, list.size()));
+        int[] total = new int[1];
+        long end = (long) offset + limit;
+        scanner.apply(normalizedQuery).forEachMatch(row -> {
+            if (total[0] >= offset && total[0] < end) {
+                items.add(list.get(row));
+            }
+            total[0]++;
+        });
+        return new SearchPage<>(items, offset, total[0], version);
+    }
+
+    /**
+     * The rows a search has to check and the test each of them must pass.
+     * Scans of at least parallelSearchThreshold rows are split across the
+     * common ForkJoinPool; the matches still come back in row order.
+     */
+    private class RowScan {
+        /** Rows to check in ascending order, or null to check every row */
+        private final int[] candidates;
+        /** Number of rows in the list */
+        private final int size;
+        /** Test for one row */
+        private final IntPredicate matches;
+
+        RowScan(int[] candidates, int size, IntPredicate matches) {
+            this.candidates = candidates;
+            this.size = size;
+            this.matches = matches;
+        }
+
+        /**
+         * Calls an action with every matching row, in ascending order.
+         * The action itself always runs on the calling thread.
+         */
+        void forEachMatch(IntConsumer action) {
+            int rowCount = candidates != null ? candidates.length : size;
+            if (rowCount >= parallelSearchThreshold && ForkJoinPool.getCommonPoolParallelism() > 1) {
+                IntStream rows = candidates != null ? IntStream.of(candidates) : IntStream.range(0, size);
+                // toArray keeps the encounter order of the parallel stream
+                for (int row : rows.parallel().filter(matches).toArray()) {
+                    action.accept(row);
+                }
+                return;
+            }
+
+            if (candidates != null) {
+                for (int row : candidates) {
+                    if (matches.test(row)) {
+                        action.accept(row);
+                    }
+                }
+            } else {
+                for (int row = 0; row < size; row++) {
+                    if (matches.test(row)) {
+                        action.accept(row);
+                    }
+                }
             }
         }
+    }
+
+    /**
+     * Search moves containing every word of the query, using the word index.
+     * Words are matched whole across name, description, classification and types.
+     *
+     * @param query The words to look for
+     * @return Matching moves in list order
+     */
+    public List<Move> searchMovesByWords(String query) {
+        ensureMoveIndexes();
+        return rowsToList(moveTokens.search(query), moveList);
+    }
 
+    /**
+     * Search items containing every word of the query, using the word index.
+     * Words are matched whole across name, category, description and effect.
+     *
+     * @param query The words to look for
+     * @return Matching items in list order
+     */
+    public List<Item> searchItemsByWords(String query) {
+        ensureItemIndexes();
+        return rowsToList(itemTokens.search(query), itemList);
+    }
+
+    /**
+     * Search trainers containing every word of the query, using the word index.
+     * Words are matched whole across ID, name, hometown and description.
+     *
+     * @param query The words to look for
+     * @return Matching trainers in list order
+     */
+    public List<Trainer> searchTrainersByWords(String query) {
+        ensureTrainerIndexes();
+        return rowsToList(trainerTokens.search(query), trainerList);
+    }
+
+    /**
+     * Plan a structured Pokémon query, e.g. {@code type:fire speed>90 name:char*}.
+     * Fields: name, type, number, level, hp, attack, defense, speed, and
+     * bare words (matched like searchPokemon). The plan is driven by the
+     * most selective of the type index, the stat index and the trigram index.
+     *
+     * @param query The query text (see StructuredQuery)
+     * @return The plan, ready to stream or explain
+     * @throws IllegalArgumentException if the query is invalid
+     */
+    public QueryPlan<Pokemon> planPokemonQuery(String query) {
+        QueryPlan<Pokemon> plan = new QueryPlan<>(pokemonList);
+        for (StructuredQuery.Term term : parseQuery(query).getTerms()) {
+            String field = term.getField();
+            if (field == null) {
+                plan.addFilter(p -> p.matchesNormalizedSearch(term.getNormalizedValue()));
+                offerTrigramIndex(plan, pokemonTrigrams, term);
+            } else if (field.equals("name")) {
+                plan.addFilter(p -> term.matchesText(p.getName()));
+                offerTrigramIndex(plan, pokemonTrigrams, term);
+            } else if (field.equals("type")) {
+                term.requireEquality();
+                Type type = term.isPrefix() ? null : findTypeIgnoreCase(term.getValue());
+                if (type != null) {
+                    plan.addFilter(p -> p.getPrimaryType() == type || p.getSecondaryType() == type);
+                    BitSet rows = typeIndex.rowsWithType(type);
+                    plan.offerIndex("type " + type.getDisplayName(), rows.cardinality(), () -> rows.stream().toArray());
+                } else {
+                    plan.addFilter(p -> term.matchesText(p.getType1()) || term.matchesText(p.getType2()));
+                }
+            } else if (field.equals("number")) {
+                plan.addFilter(p -> term.matches(p.getPokedexNumber()));
+            } else if (field.equals("level")) {
+                plan.addFilter(p -> term.matches(p.getBaseLevel()));
+            } else {
+                Stat stat = findStat(field);
+                if (stat == null) {
+                    throw new IllegalArgumentException("Unknown Pokémon field: " + field);
+                }
+                int min = term.min();
+                int max = term.max();
+                plan.addFilter(p -> term.matches(stat.baseValue(p)));
+                StatIndex index = getStatIndex();
+                plan.offerIndex(term.toString(), index.count(stat, min, max), () -> index.rowsInRange(stat, min, max));
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * Run a structured Pokémon query (see planPokemonQuery).
+     *
+     * @param query The query text
+     * @return The matching Pokémon in list order
+     */
+    public List<Pokemon> queryPokemon(String query) {
+        return planPokemonQuery(query).stream().collect(Collectors.toList());
+    }
+
+    /**
+     * Plan a structured move query, e.g. {@code type:electric class:TM}.
+     * Fields: name, type, class (classification), and bare words.
+     *
+     * @param query The query text (see StructuredQuery)
+     * @return The plan, ready to stream or explain
+     * @throws IllegalArgumentException if the query is invalid
+     */
+    public QueryPlan<Move> planMoveQuery(String query) {
+        ensureMoveIndexes();
+        QueryPlan<Move> plan = new QueryPlan<>(moveList);
+        for (StructuredQuery.Term term : parseQuery(query).getTerms()) {
+            String field = term.getField();
+            if (field == null) {
+                plan.addFilter(m -> m.matchesNormalizedSearch(term.getNormalizedValue()));
+            } else if (field.equals("name")) {
+                plan.addFilter(m -> term.matchesText(m.getName()));
+            } else if (field.equals("type")) {
+                plan.addFilter(m -> term.matchesText(m.getType1()) || term.matchesText(m.getType2()));
+            } else if (field.equals("class")) {
+                plan.addFilter(m -> term.matchesText(m.getClassification()));
+            } else {
+                throw new IllegalArgumentException("Unknown move field: " + field);
+            }
+            offerTrigramIndex(plan, moveTrigrams, term);
+        }
+        return plan;
+    }
+
+    /**
+     * Run a structured move query (see planMoveQuery).
+     *
+     * @param query The query text
+     * @return The matching moves in list order
+     */
+    public List<Move> queryMoves(String query) {
+        return planMoveQuery(query).stream().collect(Collectors.toList());
+    }
+
+    /**
+     * Plan a structured item query, e.g. {@code category:"evolution stone" buy<3000}.
+     * Fields: name, category, buy, sell, and bare words.
+     *
+     * @param query The query text (see StructuredQuery)
+     * @return The plan, ready to stream or explain
+     * @throws IllegalArgumentException if the query is invalid
+     */
+    public QueryPlan<Item> planItemQuery(String query) {
+        ensureItemIndexes();
+        QueryPlan<Item> plan = new QueryPlan<>(itemList);
+        for (StructuredQuery.Term term : parseQuery(query).getTerms()) {
+            String field = term.getField();
+            if (field == null) {
+                plan.addFilter(i -> i.matchesNormalizedSearch(term.getNormalizedValue()));
+                offerTrigramIndex(plan, itemTrigrams, term);
+            } else if (field.equals("name")) {
+                plan.addFilter(i -> term.matchesText(i.getName()));
+                offerTrigramIndex(plan, itemTrigrams, term);
+            } else if (field.equals("category")) {
+                plan.addFilter(i -> term.matchesText(i.getCategory()));
+                offerTrigramIndex(plan, itemTrigrams, term);
+            } else if (field.equals("buy")) {
+                plan.addFilter(i -> term.matches(i.getBuyingPrice()));
+            } else if (field.equals("sell")) {
+                plan.addFilter(i -> term.matches(i.getSellingPrice()));
+            } else {
+                throw new IllegalArgumentException("Unknown item field: " + field);
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * Run a structured item query (see planItemQuery).
+     *
+     * @param query The query text
+     * @return The matching items in list order
+     */
+    public List<Item> queryItems(String query) {
+        return planItemQuery(query).stream().collect(Collectors.toList());
+    }
+
+    /**
+     * Plan a structured trainer query, e.g. {@code hometown:"pallet town" money<50000}.
+     * Fields: id, name, hometown, sex, birthdate, money, and bare words.
+     *
+     * @param query The query text (see StructuredQuery)
+     * @return The plan, ready to stream or explain
+     * @throws IllegalArgumentException if the query is invalid
+     */
+    public QueryPlan<Trainer> planTrainerQuery(String query) {
+        ensureTrainerIndexes();
+        QueryPlan<Trainer> plan = new QueryPlan<>(trainerList);
+        for (StructuredQuery.Term term : parseQuery(query).getTerms()) {
+            String field = term.getField();
+            if (field == null) {
+                plan.addFilter(t -> t.matchesNormalizedSearch(term.getNormalizedValue()));
+                offerTrigramIndex(plan, trainerTrigrams, term);
+            } else if (field.equals("name")) {
+                plan.addFilter(t -> term.matchesText(t.getName()));
+                offerTrigramIndex(plan, trainerTrigrams, term);
+            } else if (field.equals("hometown")) {
+                plan.addFilter(t -> term.matchesText(t.getHometown()));
+                offerTrigramIndex(plan, trainerTrigrams, term);
+            } else if (field.equals("sex")) {
+                plan.addFilter(t -> term.matchesText(t.getSex()));
+            } else if (field.equals("birthdate")) {
+                plan.addFilter(t -> term.matchesText(t.getBirthdate()));
+            } else if (field.equals("id")) {
+                plan.addFilter(t -> term.matches(t.getTrainerID()));
+            } else if (field.equals("money")) {
+                plan.addFilter(t -> term.matches(t.getMoney()));
+            } else {
+                throw new IllegalArgumentException("Unknown trainer field: " + field);
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * Run a structured trainer query (see planTrainerQuery).
+     *
+     * @param query The query text
+     * @return The matching trainers in list order
+     */
+    public List<Trainer> queryTrainers(String query) {
+        return planTrainerQuery(query).stream().collect(Collectors.toList());
+    }
+
+    /**
+     * Parses a structured query, reusing the parse of recently seen queries.
+     */
+    private StructuredQuery parseQuery(String query) {
+        String key = query.trim();
+        synchronized (parsedQueries) {
+            StructuredQuery parsed = parsedQueries.get(key);
+            if (parsed != null) {
+                return parsed;
+            }
+        }
+        StructuredQuery parsed = StructuredQuery.parse(key);
+        synchronized (parsedQueries) {
+            parsedQueries.put(key, parsed);
+        }
+        return parsed;
+    }
+
+    /**
+     * Offers the trigram candidates of a text term to a plan.
+     * Every trigram index covers all the text fields its term can name.
+     */
+    private static <T> void offerTrigramIndex(QueryPlan<T> plan, TrigramIndex trigrams, StructuredQuery.Term term) {
+        int[] rows = trigrams.candidates(term.getNormalizedValue());
+        if (rows != null) {
+            plan.offerIndex("trigram " + term, rows.length, () -> rows);
+        }
+    }
+
+    private static Stat findStat(String field) {
+        for (Stat stat : Stat.values()) {
+            if (stat.getDisplayName().equalsIgnoreCase(field)) {
+                return stat;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Search Pokémon, moves, items and trainers at once.
+     * Hits are ranked by the weight of the fields that matched (name
+     * first, then types and categories, then descriptions) and by how
+     * well they matched (whole words over prefixes, exact names first).
+     *
+     * @param query The words to look for (the last one may be partially typed)
+     * @param limit The maximum number of hits
+     * @return Up to limit hits of every kind, best first
+     */
+    public List<SearchHit> globalSearch(String query, int limit) {
+        if (globalIndex == null) {
+            globalIndex = new GlobalSearchIndex(pokemonList, moveList, itemList, trainerList);
+        }
+        return globalIndex.search(query, limit, GLOBAL_SEARCH_BUDGET_NANOS);
+    }
+
+    /**
+     * Search Pokémon by name, tolerating typos, using the BK-tree.
+     *
+     * @param query The (possibly misspelled) name
+     * @param maxDistance The largest edit distance to accept
+     * @return Pokémon whose name is within maxDistance edits, nearest first
+     */
+    public List<Pokemon> fuzzySearchPokemon(String query, int maxDistance) {
+        return pokemonFuzzy.search(query, maxDistance);
+    }
+
+    /**
+     * Search moves by name, tolerating typos, using the BK-tree.
+     *
+     * @param query The (possibly misspelled) name
+     * @param maxDistance The largest edit distance to accept
+     * @return Moves whose name is within maxDistance edits, nearest first
+     */
+    public List<Move> fuzzySearchMoves(String query, int maxDistance) {
+        ensureMoveIndexes();
+        return moveFuzzy.search(query, maxDistance);
+    }
+
+    /**
+     * Search items by name, tolerating typos, using the BK-tree.
+     *
+     * @param query The (possibly misspelled) name
+     * @param maxDistance The largest edit distance to accept
+     * @return Items whose name is within maxDistance edits, nearest first
+     */
+    public List<Item> fuzzySearchItems(String query, int maxDistance) {
+        ensureItemIndexes();
+        return itemFuzzy.search(query, maxDistance);
+    }
+
+    /**
+     * Search trainers by name, tolerating typos, using the BK-tree.
+     *
+     * @param query The (possibly misspelled) name
+     * @param maxDistance The largest edit distance to accept
+     * @return Trainers whose name is within maxDistance edits, nearest first
+     */
+    public List<Trainer> fuzzySearchTrainers(String query, int maxDistance) {
+        ensureTrainerIndexes();
+        return trainerFuzzy.search(query, maxDistance);
+    }
+
+    /**
+     * Autocomplete Pokémon names, ignoring case and accents.
+     *
+     * @param prefix The text typed so far
+     * @param limit The maximum number of completions
+     * @return Up to limit matching names in alphabetical order
+     */
+    public List<String> completePokemonNames(String prefix, int limit) {
+        if (pokemonNames == null) {
+            pokemonNames = buildCompleter(pokemonList, Pokemon::getName);
+        }
+        return pokemonNames.complete(prefix, limit);
+    }
+
+    /**
+     * Autocomplete move names, ignoring case and accents.
+     *
+     * @param prefix The text typed so far
+     * @param limit The maximum number of completions
+     * @return Up to limit matching names in alphabetical order
+     */
+    public List<String> completeMoveNames(String prefix, int limit) {
+        if (moveNames == null) {
+            moveNames = buildCompleter(moveList, Move::getName);
+        }
+        return moveNames.complete(prefix, limit);
+    }
+
+    /**
+     * Autocomplete item names, ignoring case and accents.
+     *
+     * @param prefix The text typed so far
+     * @param limit The maximum number of completions
+     * @return Up to limit matching names in alphabetical order
+     */
+    public List<String> completeItemNames(String prefix, int limit) {
+        if (itemNames == null) {
+            itemNames = buildCompleter(itemList, Item::getName);
+        }
+        return itemNames.complete(prefix, limit);
+    }
+
+    /**
+     * Autocomplete trainer names, ignoring case and accents.
+     *
+     * @param prefix The text typed so far
+     * @param limit The maximum number of completions
+     * @return Up to limit matching names in alphabetical order
+     */
+    public List<String> completeTrainerNames(String prefix, int limit) {
+        if (trainerNames == null) {
+            trainerNames = buildCompleter(trainerList, Trainer::getName);
+        }
+        return trainerNames.complete(prefix, limit);
+    }
+
+    private static <T> NameCompleter buildCompleter(List<T> list, Function<T, String> name) {
+        List<String> names = new ArrayList<>(list.size());
+        for (T entity : list) {
+            names.add(name.apply(entity));
+        }
+        return new NameCompleter(names);
+    }
+
+    private void indexMove(int row, Move move) {
+        move.setEditListener(this::moveEdited);
+        moveNames = null;
+        globalIndex = null;
+        version++;
+        addMoveToIndexes(row, move);
+    }
+
+    private void addMoveToIndexes(int row, Move move) {
+        moveFuzzy.add(move.getName(), move);
+        moveTokens.add(row, move.getName(), move.getDescription(), move.getClassification(),
+                       move.getType1(), move.getType2());
+        moveTrigrams.add(row, move.getName(), move.getDescription(), move.getClassification(),
+                         move.getType1(), move.getType2());
+    }
+
+    private void indexItem(int row, Item item) {
+        item.setEditListener(this::itemEdited);
+        itemNames = null;
+        globalIndex = null;
+        version++;
+        addItemToIndexes(row, item);
+    }
+
+    private void addItemToIndexes(int row, Item item) {
+        itemFuzzy.add(item.getName(), item);
+        itemTokens.add(row, item.getName(), item.getCategory(), item.getDescription(), item.getEffect());
+        itemTrigrams.add(row, item.getName(), item.getCategory(), item.getDescription(), item.getEffect());
+    }
+
+    private void indexTrainer(int row, Trainer trainer) {
+        trainer.setEditListener(this::trainerEdited);
+        trainerNames = null;
+        globalIndex = null;
+        version++;
+        addTrainerToIndexes(row, trainer);
+    }
+
+    private void addTrainerToIndexes(int row, Trainer trainer) {
+        trainerFuzzy.add(trainer.getName(), trainer);
+        trainerTokens.add(row, String.valueOf(trainer.getTrainerID()), trainer.getName(),
+                          trainer.getHometown(), trainer.getDescription());
+        trainerTrigrams.add(row, String.valueOf(trainer.getTrainerID()), trainer.getName(),
+                            trainer.getHometown(), trainer.getDescription());
+    }
+
+    /**
+     * Called by a move after one of its searched fields was set
+     */
+    private void moveEdited() {
+        moveIndexesStale = true;
+        moveNames = null;
+        globalIndex = null;
+        version++;
+    }
+
+    private void itemEdited() {
+        itemIndexesStale = true;
+        itemNames = null;
+        globalIndex = null;
+        version++;
+    }
+
+    private void trainerEdited() {
+        trainerIndexesStale = true;
+        trainerNames = null;
+        globalIndex = null;
+        version++;
+    }
+
+    /**
+     * Rebuilds the move indexes and the name lookup if a move was edited
+     * since they were built. Called before any of them is read.
+     */
+    private void ensureMoveIndexes() {
+        if (!moveIndexesStale) {
+            return;
+        }
+        moveIndexesStale = false;
+        moveTokens.clear();
+        moveTrigrams.clear();
+        moveFuzzy.clear();
+        moveIndex.clear();
+        for (int row = 0; row < moveList.size(); row++) {
+            Move move = moveList.get(row);
+            addMoveToIndexes(row, move);
+            moveIndex.putIfAbsent(SpeciesRegistry.normalizeName(move.getName()), move);
+        }
+    }
+
+    private void ensureItemIndexes() {
+        if (!itemIndexesStale) {
+            return;
+        }
+        itemIndexesStale = false;
+        itemTokens.clear();
+        itemTrigrams.clear();
+        itemFuzzy.clear();
+        itemIndex.clear();
+        for (int row = 0; row < itemList.size(); row++) {
+            Item item = itemList.get(row);
+            addItemToIndexes(row, item);
+            itemIndex.putIfAbsent(SpeciesRegistry.normalizeName(item.getName()), item);
+        }
+    }
+
+    private void ensureTrainerIndexes() {
+        if (!trainerIndexesStale) {
+            return;
+        }
+        trainerIndexesStale = false;
+        trainerTokens.clear();
+        trainerTrigrams.clear();
+        trainerFuzzy.clear();
+        for (int row = 0; row < trainerList.size(); row++) {
+            addTrainerToIndexes(row, trainerList.get(row));
+        }
+    }
+
+    private static <T> List<T> rowsToList(int[] rows, List<T> list) {
+        List<T> results = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            results.add(list.get(row));
+        }
         return results;
     }
 
@@ -237,42 +1465,47 @@ public class PokemonModel {
 
     public void loadPokemonFromCSV(String filename) {
         pokemonList.clear();
+        speciesRegistry.clear();
+        typeIndex.clear();
+        pokemonTrigrams.clear();
+        pokemonFuzzy.clear();
+        pokemonNames = null;
+        globalIndex = null;
+        version++;
+        statIndex = null;
+        speciesColumns = null;
 
-        try (BufferedReader reader = new BufferedReader(new FileReader(filename))) {
-            String line = reader.readLine(); // Skip header
-
-            while ((line = reader.readLine()) != null) {
-                String[] parts = line.split(",", -1);
-
-                if (parts.length >= 12) {
-                    try {
-                        int pokedexNumber = Integer.parseInt(parts[0]);
-                        String name = parts[1];
-                        String type1 = parts[2];
-                        String type2 = parts[3].isEmpty() ? null : parts[3];
-                        int baseLevel = Integer.parseInt(parts[4]);
-                        int evolvesFrom = Integer.parseInt(parts[5]);
-                        int evolvesTo = Integer.parseInt(parts[6]);
-                        int evolutionLevel = Integer.parseInt(parts[7]);
-                        int hp = Integer.parseInt(parts[8]);
-                        int attack = Integer.parseInt(parts[9]);
-                        int defense = Integer.parseInt(parts[10]);
-                        int speed = Integer.parseInt(parts[11]);
-
-                        Pokemon pokemon = new Pokemon(pokedexNumber, name, type1, type2,
-                                                   baseLevel, evolvesFrom, evolvesTo,
-                                                   evolutionLevel, hp, attack, defense, speed);
-
-                        pokemonList.add(pokemon);
-
-                    } catch (NumberFormatException e) {
-                        System.err.println("Error parsing numbers in line: " + line);
-                    }
-                }
-            }
+        Move[] defaultMoves = getDefaultMoves();
+        List<Species> rows;
+        try {
+            rows = readCSV(filename, PokemonModel::parseSpeciesRecord,
+                           text -> System.err.println("Error parsing numbers in line: " + text));
         } catch (IOException e) {
             throw new RuntimeException("Error reading file: " + filename);
         }
+
+        for (Species species : rows) {
+            // Same duplicate checks as addPokemon, applied in file order
+            if (speciesRegistry.contains(species.getPokedexNumber())) {
+                System.err.println("Skipping duplicate Pokédex number: " + species.getPokedexNumber());
+                continue;
+            }
+            if (speciesRegistry.containsName(species.getName())) {
+                System.err.println("Skipping duplicate Pokémon name: " + species.getName());
+                continue;
+            }
+
+            Pokemon pokemon = new Pokemon(species, defaultMoves);
+            indexPokemon(pokemonList.size(), pokemon);
+            pokemonList.add(pokemon);
+            speciesRegistry.register(pokemon);
+        }
+
+        // Build the evolution graph now so broken evolution data is reported at load time
+        for (String problem : speciesRegistry.getEvolutionGraph().getProblems()) {
+            System.err.println("Evolution data problem: " + problem);
+        }
+        listsReplaced();
     }
 
     public void saveMovesToCSV(String filename) {
@@ -280,11 +1513,11 @@ public class PokemonModel {
             writer.println("Name,Description,Classification,Type1,Type2");
             for (Move move : moveList) {
                 writer.printf("%s,%s,%s,%s,%s%n",
-                    move.getName(),
-                    move.getDescription(),
-                    move.getClassification(),
-                    move.getType1(),
-                    move.getType2() != null ? move.getType2() : ""
+                    CsvReader.escape(move.getName()),
+                    CsvReader.escape(move.getDescription()),
+                    CsvReader.escape(move.getClassification()),
+                    CsvReader.escape(move.getType1()),
+                    CsvReader.escape(move.getType2())
                 );
             }
         } catch (IOException e) {
@@ -294,24 +1527,34 @@ public class PokemonModel {
 
     public void loadMovesFromCSV(String filename) {
         moveList.clear();
-        try (Scanner scanner = new Scanner(new File(filename))) {
-            if (scanner.hasNextLine()) {
-                scanner.nextLine(); // Skip header
-            }
-            while (scanner.hasNextLine()) {
-                String[] parts = scanner.nextLine().split(",", 5);
-                if (parts.length >= 4) {
-                    String name = parts[0];
-                    String description = parts[1];
-                    String classification = parts[2];
-                    String type1 = parts[3];
-                    String type2 = parts.length > 4 && !parts[4].isEmpty() ? parts[4] : null;
-                    moveList.add(new Move(name, description, classification, type1, type2));
+        moveTokens.clear();
+        moveTrigrams.clear();
+        moveFuzzy.clear();
+        moveNames = null;
+        globalIndex = null;
+        version++;
+        moveIndex.clear();
+        try (CsvReader reader = new CsvReader(new FileReader(filename))) {
+            reader.nextRecord(); // Skip header
+            while (reader.nextRecord()) {
+                if (reader.getFieldCount() >= 4) {
+                    String name = reader.getString(0);
+                    String description = reader.getString(1);
+                    String classification = reader.getString(2);
+                    String type1 = reader.getString(3);
+                    String type2 = reader.getFieldCount() > 4 && !reader.isEmpty(4) ? reader.getString(4) : null;
+                    Move move = new Move(name, description, classification, type1, type2);
+                    indexMove(moveList.size(), move);
+                    moveList.add(move);
+                    moveIndex.putIfAbsent(SpeciesRegistry.normalizeName(name), move);
                 }
             }
         } catch (FileNotFoundException e) {
             throw new RuntimeException("File not found: " + filename);
+        } catch (IOException e) {
+            throw new RuntimeException("Error reading file: " + filename);
         }
+        listsReplaced();
     }
 
     public void saveTrainersToCSV(String filename) {
@@ -340,14 +1583,14 @@ public class PokemonModel {
                 }
                 
                 writer.printf("%s,%s,%s,%s,%s,%s,%s,%s%n",
-                    trainer.getName(),
-                    trainer.getBirthdate(),
-                    trainer.getSex(),
-                    trainer.getHometown(),
-                    trainer.getDescription(),
-                    lineupStr.toString(),
-                    storageStr.toString(),
-                    itemsStr.toString()
+                    CsvReader.escape(trainer.getName()),
+                    CsvReader.escape(trainer.getBirthdate()),
+                    CsvReader.escape(trainer.getSex()),
+                    CsvReader.escape(trainer.getHometown()),
+                    CsvReader.escape(trainer.getDescription()),
+                    CsvReader.escape(lineupStr.toString()),
+                    CsvReader.escape(storageStr.toString()),
+                    CsvReader.escape(itemsStr.toString())
                 );
             }
         } catch (IOException e) {
@@ -357,87 +1600,307 @@ public class PokemonModel {
 
     public void loadTrainersFromCSV(String filename) {
         trainerList.clear();
-        try (Scanner scanner = new Scanner(new File(filename))) {
-            if (scanner.hasNextLine()) {
-                scanner.nextLine(); // Skip header
-            }
-            while (scanner.hasNextLine()) {
-                String[] parts = scanner.nextLine().split(",", 8);
-                if (parts.length >= 5) {
-                    String name = parts[0];
-                    String birthdate = parts[1];
-                    String sex = parts[2];
-                    String hometown = parts[3];
-                    String description = parts[4];
-                    
-                    // Create trainer
-                    Trainer trainer = new Trainer(name, birthdate, sex, hometown, description);
-                    
-                    // Add lineup Pokémon
-                    if (parts.length > 5 && !parts[5].isEmpty()) {
-                        String[] lineupPokemon = parts[5].split(";");
-                        for (String pokemonName : lineupPokemon) {
-                            Pokemon pokemon = findPokemonByName(pokemonName.trim());
-                            if (pokemon != null) {
-                                trainer.addPokemonToLineup(pokemon);
-                            }
-                        }
-                    }
-                    
-                    // Add storage Pokémon
-                    if (parts.length > 6 && !parts[6].isEmpty()) {
-                        String[] storagePokemon = parts[6].split(";");
-                        for (String pokemonName : storagePokemon) {
-                            Pokemon pokemon = findPokemonByName(pokemonName.trim());
-                            if (pokemon != null) {
-                                trainer.addPokemonToStorage(pokemon);
-                            }
-                        }
-                    }
-                    
-                    // Add items
-                    if (parts.length > 7 && !parts[7].isEmpty()) {
-                        String[] items = parts[7].split(";");
-                        for (String itemStr : items) {
-                            String[] itemParts = itemStr.split(":");
-                            if (itemParts.length == 2) {
-                                String itemName = itemParts[0].trim();
-                                int quantity = Integer.parseInt(itemParts[1].trim());
-                                Item item = findItemByName(itemName);
-                                if (item != null) {
-                                    trainer.addItem(item, quantity);
-                                }
-                            }
-                        }
-                    }
-                    
-                    trainerList.add(trainer);
-                }
-            }
+        trainerTokens.clear();
+        trainerTrigrams.clear();
+        trainerFuzzy.clear();
+        trainerNames = null;
+        globalIndex = null;
+        version++;
+        leaderboard.clear();
+        List<TrainerRecord> rows;
+        try {
+            rows = readCSV(filename, PokemonModel::parseTrainerRecord,
+                           text -> System.err.println("Error parsing numbers in line: " + text));
         } catch (FileNotFoundException e) {
             throw new RuntimeException("File not found: " + filename);
+        } catch (IOException e) {
+            throw new RuntimeException("Error reading file: " + filename);
+        }
+
+        for (TrainerRecord row : rows) {
+            // Create trainer
+            Trainer trainer = new Trainer(row.name, row.birthdate, row.sex, row.hometown, row.description);
+            trainer.setSpeciesRegistry(speciesRegistry);
+            trainer.setLeaderboard(leaderboard);
+
+            // Add lineup Pokémon
+            for (String pokemonName : row.lineup) {
+                Pokemon pokemon = findPokemonByName(pokemonName);
+                if (pokemon != null) {
+                    trainer.addPokemonToLineup(pokemon);
+                }
+            }
+
+            // Add storage Pokémon
+            for (String pokemonName : row.storage) {
+                Pokemon pokemon = findPokemonByName(pokemonName);
+                if (pokemon != null) {
+                    trainer.addPokemonToStorage(pokemon);
+                }
+            }
+
+            // Add items
+            for (int i = 0; i < row.itemNames.length; i++) {
+                Item item = findItemByName(row.itemNames[i]);
+                if (item != null) {
+                    trainer.addItem(item, row.itemQuantities[i]);
+                }
+            }
+
+            indexTrainer(trainerList.size(), trainer);
+            trainerList.add(trainer);
+        }
+        listsReplaced();
+    }
+
+    /**
+     * Reads the rows of a CSV file, memory-mapping it and parsing it in
+     * parallel if it is at least mappedLoadThreshold bytes long.
+     */
+    private <R> List<R> readCSV(String filename, CsvLoader.RowParser<R> parser,
+                                Consumer<String> badRecords) throws IOException {
+        File file = new File(filename);
+        if (!file.isFile()) {
+            throw new FileNotFoundException(filename);
+        }
+        if (file.length() >= mappedLoadThreshold) {
+            return CsvLoader.readMapped(filename, parser, badRecords);
+        }
+        return CsvLoader.read(filename, parser, badRecords);
+    }
+
+    /**
+     * Parses a pokemon_data.csv record. Runs on loader threads, so it
+     * only creates the species; the Pokémon are created in file order.
+     */
+    private static Species parseSpeciesRecord(CsvReader record) {
+        if (record.getFieldCount() < 12) {
+            return null;
+        }
+        return new Species(record.getInt(0), record.getString(1), record.getString(2),
+                           record.isEmpty(3) ? null : record.getString(3),
+                           record.getInt(4), record.getInt(5), record.getInt(6), record.getInt(7),
+                           record.getInt(8), record.getInt(9), record.getInt(10), record.getInt(11));
+    }
+
+    /**
+     * Fields of a trainers_data.csv record, before the names are looked up.
+     * Trainers are numbered as they are created, so the trainers
+     * themselves are created in file order after parsing.
+     */
+    private static class TrainerRecord {
+        private String name;
+        private String birthdate;
+        private String sex;
+        private String hometown;
+        private String description;
+        private String[] lineup = new String[0];
+        private String[] storage = new String[0];
+        private String[] itemNames = new String[0];
+        private int[] itemQuantities = new int[0];
+    }
+
+    private static TrainerRecord parseTrainerRecord(CsvReader record) {
+        int fieldCount = record.getFieldCount();
+        if (fieldCount < 5) {
+            return null;
+        }
+        TrainerRecord row = new TrainerRecord();
+        row.name = record.getString(0);
+        row.birthdate = record.getString(1);
+        row.sex = record.getString(2);
+        row.hometown = record.getString(3);
+        row.description = record.getString(4);
+        if (fieldCount > 5 && !record.isEmpty(5)) {
+            row.lineup = trimAll(record.getString(5).split(";"));
+        }
+        if (fieldCount > 6 && !record.isEmpty(6)) {
+            row.storage = trimAll(record.getString(6).split(";"));
+        }
+        if (fieldCount > 7 && !record.isEmpty(7)) {
+            List<String> names = new ArrayList<>();
+            List<Integer> quantities = new ArrayList<>();
+            for (String itemStr : record.getString(7).split(";")) {
+                String[] itemParts = itemStr.split(":");
+                if (itemParts.length == 2) {
+                    names.add(itemParts[0].trim());
+                    quantities.add(Integer.parseInt(itemParts[1].trim()));
+                }
+            }
+            row.itemNames = names.toArray(new String[0]);
+            row.itemQuantities = quantities.stream().mapToInt(Integer::intValue).toArray();
+        }
+        return row;
+    }
+
+    private static String[] trimAll(String[] values) {
+        for (int i = 0; i < values.length; i++) {
+            values[i] = values[i].trim();
         }
+        return values;
+    }
+
+    /**
+     * Saves all Pokémon, moves, items and trainers, with their full
+     * instance state, to a binary snapshot file. Saving to SNAPSHOT_FILE
+     * also compacts the journal: it waits for any background compaction,
+     * and deletes the journal segments the new snapshot covers. It is
+     * refused unless this model holds the journal, since the journal
+     * records that follow SNAPSHOT_FILE would otherwise no longer match it.
+     *
+     * @param filename The file to write
+     */
+    public void saveSnapshot(String filename) {
+        try {
+            if (filename.equals(SNAPSHOT_FILE)) {
+                if (!isJournaling()) {
+                    throw new IOException(JOURNAL_FILE + " is not open for writing, leaving " + SNAPSHOT_FILE + " unchanged");
+                }
+                compact(false).get();
+            } else {
+                long sequence = journal != null ? journal.getLastSequence() : 0;
+                new ModelSnapshot(pokemonList, moveList, itemList, trainerList, sequence).write(filename);
+            }
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Error saving: " + e.getCause().getMessage());
+        } catch (IOException e) {
+            throw new RuntimeException("Error saving: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Error saving: interrupted");
+        }
+    }
+
+    /**
+     * Replaces all Pokémon, moves, items and trainers with those of a
+     * binary snapshot file. The model is left unchanged if the file
+     * cannot be read.
+     *
+     * @param filename The file to read
+     */
+    public void loadSnapshot(String filename) {
+        restoreSnapshot(filename);
+        listsReplaced();
+    }
+
+    /**
+     * Loads a snapshot file as loadSnapshot does.
+     *
+     * @return The last journal record the snapshot includes
+     */
+    private long restoreSnapshot(String filename) {
+        ModelSnapshot snapshot;
+        try {
+            snapshot = ModelSnapshot.read(filename);
+        } catch (IOException e) {
+            throw new RuntimeException("Error reading file: " + e.getMessage());
+        }
+
+        pokemonList.clear();
+        speciesRegistry.clear();
+        typeIndex.clear();
+        pokemonTrigrams.clear();
+        pokemonFuzzy.clear();
+        moveList.clear();
+        moveTokens.clear();
+        moveTrigrams.clear();
+        moveFuzzy.clear();
+        moveIndex.clear();
+        itemList.clear();
+        itemTokens.clear();
+        itemTrigrams.clear();
+        itemFuzzy.clear();
+        itemIndex.clear();
+        trainerList.clear();
+        trainerTokens.clear();
+        trainerTrigrams.clear();
+        trainerFuzzy.clear();
+        leaderboard.clear();
+        pokemonNames = null;
+        moveNames = null;
+        itemNames = null;
+        trainerNames = null;
+        globalIndex = null;
+        version++;
+        statIndex = null;
+        speciesColumns = null;
+
+        for (Move move : snapshot.getMoves()) {
+            indexMove(moveList.size(), move);
+            moveList.add(move);
+            moveIndex.putIfAbsent(SpeciesRegistry.normalizeName(move.getName()), move);
+        }
+        for (Item item : snapshot.getItems()) {
+            indexItem(itemList.size(), item);
+            itemList.add(item);
+            itemIndex.putIfAbsent(SpeciesRegistry.normalizeName(item.getName()), item);
+        }
+        for (Pokemon pokemon : snapshot.getPokemon()) {
+            indexPokemon(pokemonList.size(), pokemon);
+            pokemonList.add(pokemon);
+            speciesRegistry.register(pokemon);
+        }
+        for (Trainer trainer : snapshot.getTrainers()) {
+            trainer.setSpeciesRegistry(speciesRegistry);
+            trainer.setLeaderboard(leaderboard);
+            indexTrainer(trainerList.size(), trainer);
+            trainerList.add(trainer);
+        }
+        return snapshot.getJournalSequence();
     }
 
     // Helper methods
     public Pokemon findPokemonByName(String name) {
-        for (Pokemon pokemon : pokemonList) {
-            if (pokemon.getName().equals(name)) {
-                return new Pokemon(pokemon); // Return copy
-            }
+        Pokemon pokemon = speciesRegistry.findByName(name);
+        if (pokemon != null && pokemon.getName().equals(name)) {
+            return new Pokemon(pokemon); // Return copy
         }
         return null;
     }
 
-    public Item findItemByName(String name) {
-        for (Item item : itemList) {
-            if (item.getName().equalsIgnoreCase(name)) {
-                return item;
-            }
+    public EvolutionGraph getEvolutionGraph() {
+        return speciesRegistry.getEvolutionGraph();
+    }
+
+    public Pokemon findPokemonByPokedexNumber(int pokedexNumber) {
+        Pokemon pokemon = speciesRegistry.findByPokedexNumber(pokedexNumber);
+        if (pokemon != null) {
+            return new Pokemon(pokemon); // Return copy
         }
         return null;
     }
 
+    public Item findItemByName(String name) {
+        if (name == null) {
+            return null;
+        }
+        ensureItemIndexes();
+        return itemIndex.get(SpeciesRegistry.normalizeName(name));
+    }
+
+    public Move findMoveByName(String name) {
+        if (name == null) {
+            return null;
+        }
+        ensureMoveIndexes();
+        return moveIndex.get(SpeciesRegistry.normalizeName(name));
+    }
+
+    /**
+     * Get the canonical "Tackle" and "Defend" moves from the move list,
+     * so every Pokémon's default moveset references them instead of copies.
+     *
+     * @return The two default moves, or null if either is missing
+     */
+    private Move[] getDefaultMoves() {
+        Move tackle = findMoveByName("Tackle");
+        Move defend = findMoveByName("Defend");
+        if (tackle == null || defend == null) {
+            return null;
+        }
+        return new Move[] { tackle, defend };
+    }
+
     public static Pokemon findPokemonByPokedexNumberStatic(int pokedexNumber, List<Pokemon> pokemonList) {
         for (Pokemon p : pokemonList) {
             if (p.getPokedexNumber() == pokedexNumber) {
@@ -455,6 +1918,56 @@ public class PokemonModel {
     public List<Move> getMoveList() { return moveList; }
     public List<Item> getItemList() { return itemList; }
     public List<Trainer> getTrainerList() { return trainerList; }
+    public SpeciesRegistry getSpeciesRegistry() { return speciesRegistry; }
+    public long getVersion() { return version; }
+    public int getParallelSearchThreshold() { return parallelSearchThreshold; }
+
+    /**
+     * Sets how many rows a search must check before it is split across the
+     * common ForkJoinPool. The default can also be set with the
+     * pokedex.parallelSearchThreshold system property.
+     *
+     * @param threshold The row count (Integer.MAX_VALUE turns parallel search off)
+     */
+    public void setParallelSearchThreshold(int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Threshold must be positive: " + threshold);
+        }
+        this.parallelSearchThreshold = threshold;
+    }
+    public long getMappedLoadThreshold() { return mappedLoadThreshold; }
+
+    /**
+     * Sets how large a CSV file must be before it is memory-mapped and
+     * parsed in parallel chunks. The default can also be set with the
+     * pokedex.mappedLoadThreshold system property.
+     *
+     * @param threshold The size in bytes (Long.MAX_VALUE turns parallel loading off)
+     */
+    public void setMappedLoadThreshold(long threshold) {
+        if (threshold < 0) {
+            throw new IllegalArgumentException("Threshold must not be negative: " + threshold);
+        }
+        this.mappedLoadThreshold = threshold;
+    }
+    public long getJournalCompactionBytes() { return journalCompactionBytes; }
+
+    /**
+     * Sets how large the journal of trainer changes may grow before the
+     * snapshot is rewritten in the background and the journal restarted.
+     * The default can also be set with the pokedex.journalCompactionBytes
+     * system property.
+     *
+     * @param bytes The size in bytes (Long.MAX_VALUE compacts only on save)
+     */
+    public void setJournalCompactionBytes(long bytes) {
+        if (bytes < 1) {
+            throw new IllegalArgumentException("Size must be positive: " + bytes);
+        }
+        this.journalCompactionBytes = bytes;
+    }
+    public long getSearchCacheHits() { return searchCache.getHits(); }
+    public long getSearchCacheMisses() { return searchCache.getMisses(); }
 
     // Initialization methods for default data
     private void initializeDefaultMoves() {
@@ -31,6 +31,8 @@ public class PokemonPanel extends JPanel {
     private JTable pokemonTable;
     /** Model for the Pokémon table */
     private DefaultTableModel tableModel;
+    /** Fills the table with paged search results */
+    private PagedTableLoader<Pokemon> pageLoader;
     /** Text field for search input */
     private JTextField searchField;
     /** Text area for displaying detailed Pokémon information */
@@ -105,6 +107,9 @@ public class PokemonPanel extends JPanel {
         detailsArea.setEditable(false);
         detailsArea.setFont(pokeFont(10f));
         
+        // Name completions under the search field (added before the Enter key listener)
+        new AutocompletePopup(searchField, controller::completePokemonNames, this::searchPokemon);
+        
         // Add listeners
         addListeners();
     }
@@ -128,6 +133,7 @@ public class PokemonPanel extends JPanel {
         
         // Add table with scroll pane
         JScrollPane tableScrollPane = new JScrollPane(pokemonTable);
+        pageLoader = new PagedTableLoader<>(tableModel, this::pokemonRow, tableScrollPane);
         tableScrollPane.setPreferredSize(new Dimension(600, 300));
         centerPanel.add(tableScrollPane, BorderLayout.CENTER);
         
@@ -176,6 +182,7 @@ public class PokemonPanel extends JPanel {
     }
     
     private void loadPokemonData() {
+        pageLoader.stop();
         tableModel.setRowCount(0);
         List<Pokemon> pokemonList = controller.getAllPokemon();
         
@@ -201,24 +208,41 @@ public class PokemonPanel extends JPanel {
             return;
         }
         
-        List<Pokemon> results = controller.searchPokemon(query);
+        if (!StructuredQuery.looksStructured(query)) {
+            // Plain searches fetch one page at a time as the table scrolls
+            pageLoader.start((offset, limit) -> controller.searchPokemonPage(query, offset, limit));
+            return;
+        }
+        
+        // Structured query such as name:char* or field>value
+        List<Pokemon> results;
+        try {
+            results = controller.queryPokemon(query);
+        } catch (IllegalArgumentException ex) {
+            JOptionPane.showMessageDialog(this, "Invalid query: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        pageLoader.stop();
         tableModel.setRowCount(0);
         
         for (Pokemon pokemon : results) {
-            Object[] row = {
-                pokemon.getPokedexNumber(),
-                pokemon.getName(),
-                pokemon.getType1() + (pokemon.getType2() != null ? "/" + pokemon.getType2() : ""),
-                pokemon.getCurrentLevel(),
-                pokemon.getCurrentHP(),
-                pokemon.getCurrentAttack(),
-                pokemon.getCurrentDefense(),
-                pokemon.getCurrentSpeed()
-            };
-            tableModel.addRow(row);
+            tableModel.addRow(pokemonRow(pokemon));
         }
     }
     
+    private Object[] pokemonRow(Pokemon pokemon) {
+        return new Object[] {
+            pokemon.getPokedexNumber(),
+            pokemon.getName(),
+            pokemon.getType1() + (pokemon.getType2() != null ? "/" + pokemon.getType2() : ""),
+            pokemon.getCurrentLevel(),
+            pokemon.getCurrentHP(),
+            pokemon.getCurrentAttack(),
+            pokemon.getCurrentDefense(),
+            pokemon.getCurrentSpeed()
+        };
+    }
+    
     private void showAddPokemonDialog() {
         JDialog dialog = new JDialog((Frame) SwingUtilities.getWindowAncestor(this), "Add New Pokémon", true);
         dialog.setLayout(new BorderLayout());
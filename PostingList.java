@@ -0,0 +1,88 @@
+import java.util.*;
+
+/**
+ * Growable, sorted list of entity ids used by the search indexes.
+ * Ids must be added in ascending order; adding the last id again
+ * is ignored, so an entity is listed at most once per key.
+ *
+ * @author Enhanced Pokédex Team
+ * @version 1.0
+ * @since 2024
+ */
+class PostingList {
+    /** The ids, sorted ascending (only the first size entries are used) */
+    private int[] ids = new int[4];
+    /** Number of ids in the list */
+    private int size;
+
+    /**
+     * Appends an id to the list.
+     *
+     * @param id The id to add (must not be lower than the last id added)
+     */
+    void add(int id) {
+        // Ids arrive in ascending order, so duplicates are always at the end
+        if (size > 0 && ids[size - 1] == id) {
+            return;
+        }
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        ids[size++] = id;
+    }
+
+    /**
+     * Gets the number of ids in the list.
+     * @return The list size
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Copies the ids into a new array.
+     * @return The ids in ascending order
+     */
+    int[] toArray() {
+        return Arrays.copyOf(ids, size);
+    }
+
+    /**
+     * Keeps only the ids of result that are also in this list.
+     * The first size entries of result are intersected in place.
+     *
+     * @param result Sorted ids to intersect
+     * @param resultSize Number of ids of result to use
+     * @return The number of ids kept at the front of result
+     */
+    int retainIn(int[] result, int resultSize) {
+        int kept = 0;
+        int j = 0;
+        for (int i = 0; i < resultSize && j < size; i++) {
+            int id = result[i];
+            while (j < size && ids[j] < id) {
+                j++;
+            }
+            if (j < size && ids[j] == id) {
+                result[kept++] = id;
+            }
+        }
+        return kept;
+    }
+
+    /**
+     * Intersects several posting lists, shortest first.
+     *
+     * @param lists The lists to intersect (at least one)
+     * @return The ids present in every list, ascending
+     */
+    static int[] intersectAll(List<PostingList> lists) {
+        lists.sort((a, b) -> Integer.compare(a.size, b.size));
+        int[] result = lists.get(0).toArray();
+        int resultSize = result.length;
+        for (int i = 1; i < lists.size() && resultSize > 0; i++) {
+            resultSize = lists.get(i).retainIn(result, resultSize);
+        }
+        return Arrays.copyOf(result, resultSize);
+    }
+}
@@ -0,0 +1,93 @@
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Execution plan of a structured query over one entity list.
+ * While planning, every term adds a filter, and terms that an index can
+ * answer also offer that index together with an estimate of how many
+ * rows it would return. The plan keeps the most selective index as the
+ * driver; executing the plan reads only the driver's rows (or the whole
+ * list if no index was offered) and applies every filter to them.
+ *
+ * Driver rows are always sorted, so results are in list order whichever
+ * index is chosen. Results are streamed lazily.
+ *
+ * @author Enhanced Pokédex Team
+ * @version 1.0
+ * @since 2024
+ * @param <T> The entity type
+ */
+public class QueryPlan<T> {
+    /** The list being queried */
+    private final List<T> list;
+    /** Conditions every result must meet */
+    private final List<Predicate<T>> filters = new ArrayList<>();
+    /** Description of the chosen index, or null for a full scan */
+    private String driver;
+    /** Estimated number of rows the chosen index returns */
+    private int driverEstimate;
+    /** Rows of the chosen index, computed only when the plan runs */
+    private Supplier<int[]> driverRows;
+
+    /**
+     * Constructor for a plan over a list.
+     *
+     * @param list The list being queried
+     */
+    public QueryPlan(List<T> list) {
+        this.list = list;
+        this.driverEstimate = list.size();
+    }
+
+    /**
+     * Adds a condition every result must meet.
+     *
+     * @param filter The condition
+     */
+    public void addFilter(Predicate<T> filter) {
+        filters.add(filter);
+    }
+
+    /**
+     * Offers an index that returns a superset of the results.
+     * It becomes the driver if it is expected to return fewer rows than
+     * the current driver (or the whole list).
+     *
+     * @param description What the index looks up, for explain()
+     * @param estimate The number of rows the index is expected to return
+     * @param rows Computes the rows, sorted ascending
+     */
+    public void offerIndex(String description, int estimate, Supplier<int[]> rows) {
+        if (estimate < driverEstimate) {
+            driver = description;
+            driverEstimate = estimate;
+            driverRows = rows;
+        }
+    }
+
+    /**
+     * Runs the plan.
+     * @return The matching entities, in list order
+     */
+    public Stream<T> stream() {
+        Stream<T> candidates = driverRows != null
+            ? IntStream.of(driverRows.get()).mapToObj(list::get)
+            : list.stream();
+        for (Predicate<T> filter : filters) {
+            candidates = candidates.filter(filter);
+        }
+        return candidates;
+    }
+
+    /**
+     * Describes how the plan runs.
+     * @return The chosen index and its estimated rows, and the number of filters
+     */
+    public String explain() {
+        String source = driver != null ? "index " + driver : "full scan";
+        return source + " (~" + driverEstimate + " rows), " + filters.size() + " filter(s)";
+    }
+}
@@ -0,0 +1,112 @@
+import java.util.*;
+
+/**
+ * Least-recently-used cache of search results.
+ * Results are keyed by entity kind and normalized query, and each
+ * entry remembers the model version it was computed at. A lookup
+ * made at a different version is a miss, so any mutation of the model
+ * (which bumps its version) makes every older entry stale at once,
+ * without walking the cache. Repeat searches at the same version are a
+ * single hash lookup.
+ *
+ * Cached lists are shared between callers and returned read-only.
+ *
+ * @author Enhanced Pokédex Team
+ * @version 1.0
+ * @since 2024
+ */
+public class SearchCache {
+    /**
+     * A cached result and the model version it belongs to.
+     */
+    private static class CachedResult {
+        private final long version;
+        private final List<?> results;
+
+        private CachedResult(long version, List<?> results) {
+            this.version = version;
+            this.results = results;
+        }
+    }
+
+    /** Maximum number of cached results */
+    private final int capacity;
+    /** Cached results in access order, least recently used first */
+    private final LinkedHashMap<String, CachedResult> entries;
+    /** Number of lookups answered from the cache */
+    private long hits;
+    /** Number of lookups that had to run the search */
+    private long misses;
+
+    /**
+     * Constructor that creates an empty cache.
+     *
+     * @param capacity The maximum number of cached results (must be positive)
+     */
+    public SearchCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Cache capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<String, CachedResult>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResult> eldest) {
+                return size() > SearchCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Looks up the results of a search.
+     *
+     * @param kind The kind of entity searched
+     * @param normalizedQuery The query, normalized with SearchKey.normalize
+     * @param version The current model version
+     * @return The cached results, or null if there are none for this version
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <T> List<T> get(SearchHit.Kind kind, String normalizedQuery, long version) {
+        String key = key(kind, normalizedQuery);
+        CachedResult entry = entries.get(key);
+        if (entry == null || entry.version != version) {
+            if (entry != null) {
+                entries.remove(key);
+            }
+            misses++;
+            return null;
+        }
+        hits++;
+        return (List<T>) entry.results;
+    }
+
+    /**
+     * Stores the results of a search.
+     *
+     * @param kind The kind of entity searched
+     * @param normalizedQuery The query, normalized with SearchKey.normalize
+     * @param version The model version the results were computed at
+     * @param results The results
+     * @return The read-only list that was cached
+     */
+    public synchronized <T> List<T> put(SearchHit.Kind kind, String normalizedQuery, long version,
+                                        List<T> results) {
+        List<T> shared = Collections.unmodifiableList(results);
+        entries.put(key(kind, normalizedQuery), new CachedResult(version, shared));
+        return shared;
+    }
+
+    /**
+     * Removes every cached result. The hit and miss counts are kept.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized long getHits() { return hits; }
+    public synchronized long getMisses() { return misses; }
+    public synchronized int size() { return entries.size(); }
+
+    private static String key(SearchHit.Kind kind, String normalizedQuery) {
+        return kind.name() + SearchKey.SEPARATOR + normalizedQuery;
+    }
+}
@@ -0,0 +1,68 @@
+/**
+ * One result of the global search.
+ * A hit wraps a Pokémon, move, item or trainer together with its kind,
+ * display name and relevance score, so results of every entity type
+ * can be ranked and shown in one list.
+ *
+ * @author Enhanced Pokédex Team
+ * @version 1.0
+ * @since 2024
+ */
+public class SearchHit {
+    /**
+     * The entity types covered by the global search.
+     */
+    public enum Kind {
+        POKEMON("Pokémon"),
+        MOVE("Move"),
+        ITEM("Item"),
+        TRAINER("Trainer");
+
+        /** Name shown in result lists */
+        private final String displayName;
+
+        Kind(String displayName) {
+            this.displayName = displayName;
+        }
+
+        public String getDisplayName() { return displayName; }
+    }
+
+    /** The type of the matched entity */
+    private final Kind kind;
+    /** The matched Pokemon, Move, Item or Trainer */
+    private final Object entity;
+    /** The entity's name */
+    private final String name;
+    /** Relevance score, higher is better */
+    private final double score;
+
+    /**
+     * Constructor for a search hit.
+     *
+     * @param kind The type of the matched entity
+     * @param entity The matched entity
+     * @param name The entity's name
+     * @param score The relevance score
+     */
+    public SearchHit(Kind kind, Object entity, String name, double score) {
+        this.kind = kind;
+        this.entity = entity;
+        this.name = name;
+        this.score = score;
+    }
+
+    public Kind getKind() { return kind; }
+    public Object getEntity() { return entity; }
+    public String getName() { return name; }
+    public double getScore() { return score; }
+
+    /**
+     * Returns the hit as shown in result lists.
+     * @return The kind and name of the entity
+     */
+    @Override
+    public String toString() {
+        return "[" + kind.getDisplayName() + "] " + name;
+    }
+}
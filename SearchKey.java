@@ -0,0 +1,71 @@
+import java.text.Normalizer;
+
+/**
+ * Normalization shared by the text searches.
+ * Text is lowercased and accent-folded, so "pokemon" matches "Pokémon"
+ * and "POKÉMON". Entities cache the normalized form of their searchable
+ * fields as one search key, joined with a separator that never appears
+ * in a query, so a search only normalizes the query once and then runs
+ * a single contains check per entity.
+ *
+ * @author Enhanced Pokédex Team
+ * @version 1.0
+ * @since 2024
+ */
+public final class SearchKey {
+    /** Separates the fields of a search key so a match cannot span two fields */
+    public static final char SEPARATOR = '\u0000';
+
+    private SearchKey() {
+    }
+
+    /**
+     * Lowercases text and removes its accents.
+     *
+     * @param text The text to normalize
+     * @return The normalized text
+     */
+    public static String normalize(String text) {
+        if (isPlainAscii(text)) {
+            return text.toLowerCase();
+        }
+
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder sb = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                sb.append(c);
+            }
+        }
+        return sb.toString().toLowerCase();
+    }
+
+    /**
+     * Builds a search key from the searchable fields of an entity.
+     * Null fields are skipped.
+     *
+     * @param fields The fields to include
+     * @return The normalized fields joined by SEPARATOR
+     */
+    public static String of(String... fields) {
+        StringBuilder sb = new StringBuilder();
+        for (String field : fields) {
+            if (field == null) continue;
+            if (sb.length() > 0) {
+                sb.append(SEPARATOR);
+            }
+            sb.append(normalize(field));
+        }
+        return sb.toString();
+    }
+
+    private static boolean isPlainAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
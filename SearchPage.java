@@ -0,0 +1,61 @@
+import java.util.List;
+
+/**
+ * One page of search results.
+ * A page holds at most the requested number of matches, starting at an
+ * offset into the full (list-ordered) result, together with the total
+ * number of matches and the model version the page was computed at.
+ * Pages fetched at different versions may not line up, so a caller
+ * that sees the version change should start again from offset 0.
+ *
+ * @author Enhanced Pokédex Team
+ * @version 1.0
+ * @since 2024
+ * @param <T> The entity type
+ */
+public class SearchPage<T> {
+    /** The matches on this page */
+    private final List<T> items;
+    /** Position of the first match of this page in the full result */
+    private final int offset;
+    /** Number of matches in the full result */
+    private final int total;
+    /** Model version the page was computed at */
+    private final long version;
+
+    /**
+     * Constructor for a page of results.
+     *
+     * @param items The matches on this page
+     * @param offset Position of the first match in the full result
+     * @param total Number of matches in the full result
+     * @param version Model version the page was computed at
+     */
+    public SearchPage(List<T> items, int offset, int total, long version) {
+        this.items = items;
+        this.offset = offset;
+        this.total = total;
+        this.version = version;
+    }
+
+    public List<T> getItems() { return items; }
+    public int getOffset() { return offset; }
+    public int getTotal() { return total; }
+    public long getVersion() { return version; }
+
+    /**
+     * Gets the offset of the page after this one.
+     * @return The offset just past the last match of this page
+     */
+    public int getNextOffset() {
+        return offset + items.size();
+    }
+
+    /**
+     * Checks if there are matches after this page.
+     * @return true if another page can be fetched
+     */
+    public boolean hasMore() {
+        return getNextOffset() < total;
+    }
+}
@@ -0,0 +1,123 @@
+/**
+ * Immutable species template shared by every Pokémon of that species.
+ * This class holds the data that is the same for every individual
+ * Pokémon of a species: Pokédex number, name, types, base level,
+ * evolution links and base stats.
+ *
+ * A Pokemon only stores its own instance state (level, current stats,
+ * EVs, moves and held item) plus a reference to its Species, so
+ * copying a Pokémon for a trainer does not copy any species data, and
+ * evolving only re-points the reference to the evolved species.
+ *
+ * @author Enhanced Pokédex Team
+ * @version 1.0
+ * @since 2024
+ */
+public final class Species {
+    /** The unique Pokédex number of this species */
+    private final int pokedexNumber;
+    /** The name of this species */
+    private final String name;
+    /** The primary type of this species */
+    private final String type1;
+    /** The secondary type of this species (optional, can be null) */
+    private final String type2;
+    /** Parsed primary type (null if type1 is not a known type) */
+    private final Type primaryType;
+    /** Parsed secondary type (null if none or not a known type) */
+    private final Type secondaryType;
+    /** Bitmask of both types, see Type.maskOf */
+    private final int typeMask;
+    /** The base level when this species is first encountered */
+    private final int baseLevel;
+    /** Pokédex number of the species this evolves from (-1 if none) */
+    private final int evolvesFrom;
+    /** Pokédex number of the species this evolves into (-1 if none) */
+    private final int evolvesTo;
+    /** The level at which this species evolves */
+    private final int evolutionLevel;
+    /** Base HP (Hit Points) statistic */
+    private final int baseHP;
+    /** Base Attack statistic */
+    private final int baseAttack;
+    /** Base Defense statistic */
+    private final int baseDefense;
+    /** Base Speed statistic */
+    private final int baseSpeed;
+    /** Cached normalized search key of the name and types (null until first needed) */
+    private String searchKey;
+
+    /**
+     * Constructor for creating a species template.
+     * The type Strings are parsed into Type values once, here.
+     *
+     * @param pokedexNumber The unique Pokédex number
+     * @param name The name of the species
+     * @param type1 The primary type
+     * @param type2 The secondary type (can be null or empty)
+     * @param baseLevel The base level when encountered
+     * @param evolvesFrom Pokédex number of pre-evolution (-1 if none)
+     * @param evolvesTo Pokédex number of evolution (-1 if none)
+     * @param evolutionLevel Level required for evolution
+     * @param baseHP Base HP statistic
+     * @param baseAttack Base Attack statistic
+     * @param baseDefense Base Defense statistic
+     * @param baseSpeed Base Speed statistic
+     */
+    public Species(int pokedexNumber, String name, String type1, String type2,
+                   int baseLevel, int evolvesFrom, int evolvesTo, int evolutionLevel,
+                   int baseHP, int baseAttack, int baseDefense, int baseSpeed) {
+        this.pokedexNumber = pokedexNumber;
+        this.name = name;
+        this.type1 = type1;
+        this.type2 = type2;
+        this.primaryType = Type.fromName(type1);
+        this.secondaryType = Type.fromName(type2);
+        this.typeMask = Type.maskOf(type1, type2);
+        this.baseLevel = baseLevel;
+        this.evolvesFrom = evolvesFrom;
+        this.evolvesTo = evolvesTo;
+        this.evolutionLevel = evolutionLevel;
+        this.baseHP = baseHP;
+        this.baseAttack = baseAttack;
+        this.baseDefense = baseDefense;
+        this.baseSpeed = baseSpeed;
+    }
+
+    public int getPokedexNumber() { return pokedexNumber; }
+    public String getName() { return name; }
+    public String getType1() { return type1; }
+    public String getType2() { return type2; }
+    public Type getPrimaryType() { return primaryType; }
+    public Type getSecondaryType() { return secondaryType; }
+    public int getTypeMask() { return typeMask; }
+    public int getBaseLevel() { return baseLevel; }
+    public int getEvolvesFrom() { return evolvesFrom; }
+    public int getEvolvesTo() { return evolvesTo; }
+    public int getEvolutionLevel() { return evolutionLevel; }
+    public int getBaseHP() { return baseHP; }
+    public int getBaseAttack() { return baseAttack; }
+    public int getBaseDefense() { return baseDefense; }
+    public int getBaseSpeed() { return baseSpeed; }
+
+    /**
+     * Gets the normalized search key of the species (see SearchKey).
+     * Species are immutable, so the key is computed once, on first use.
+     * @return The normalized name and types
+     */
+    public String getSearchKey() {
+        if (searchKey == null) {
+            searchKey = SearchKey.of(name, type1, type2);
+        }
+        return searchKey;
+    }
+
+    /**
+     * Returns a short representation of the species.
+     * @return The Pokédex number and name
+     */
+    @Override
+    public String toString() {
+        return "#" + pokedexNumber + " " + name;
+    }
+}
@@ -0,0 +1,272 @@
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Read-only columnar copy of the species catalog for aggregate analytics.
+ * Each species attribute is stored in its own primitive array (one int
+ * array per stat, byte type codes, int evolution links), so per-type
+ * means, minimums, maximums and histograms run as tight loops over
+ * contiguous memory instead of walking Pokémon objects.
+ *
+ * The columns are a snapshot of the catalog taken when they are built;
+ * PokemonModel rebuilds them after the catalog changes.
+ *
+ * @author Enhanced Pokédex Team
+ * @version 1.0
+ * @since 2024
+ */
+public class SpeciesColumns {
+    /** Row count above which aggregates are split across threads when parallel is requested */
+    private static final int PARALLEL_CHUNK = 1 << 16;
+    /** Type code stored for a missing or unknown type */
+    public static final byte NO_TYPE = -1;
+
+    /**
+     * Summary of one stat over a group of species.
+     */
+    public static class StatSummary {
+        /** Number of species in the group */
+        private final int count;
+        /** Lowest value in the group */
+        private final int min;
+        /** Highest value in the group */
+        private final int max;
+        /** Sum of all values in the group */
+        private final long sum;
+
+        private StatSummary(int count, int min, int max, long sum) {
+            this.count = count;
+            this.min = min;
+            this.max = max;
+            this.sum = sum;
+        }
+
+        public int getCount() { return count; }
+        public int getMin() { return min; }
+        public int getMax() { return max; }
+        public long getSum() { return sum; }
+
+        /**
+         * Gets the mean value of the group.
+         * @return The mean, or 0 for an empty group
+         */
+        public double getMean() { return count == 0 ? 0 : (double) sum / count; }
+    }
+
+    /** Number of species (rows) */
+    private final int size;
+    /** Pokédex number of each species */
+    private final int[] pokedexNumbers;
+    /** Base level of each species */
+    private final int[] baseLevels;
+    /** Pokédex number each species evolves from (-1 if none) */
+    private final int[] evolvesFrom;
+    /** Pokédex number each species evolves to (-1 if none) */
+    private final int[] evolvesTo;
+    /** Level each species evolves at */
+    private final int[] evolutionLevels;
+    /** Base stat columns, indexed by Stat ordinal */
+    private final int[][] stats = new int[Stat.values().length][];
+    /** Primary type ordinal of each species (NO_TYPE if unknown) */
+    private final byte[] type1Codes;
+    /** Secondary type ordinal of each species (NO_TYPE if none or unknown) */
+    private final byte[] type2Codes;
+
+    /**
+     * Constructor that builds the columns from a species catalog.
+     *
+     * @param catalog The species to copy into columns
+     */
+    public SpeciesColumns(List<Pokemon> catalog) {
+        size = catalog.size();
+        pokedexNumbers = new int[size];
+        baseLevels = new int[size];
+        evolvesFrom = new int[size];
+        evolvesTo = new int[size];
+        evolutionLevels = new int[size];
+        type1Codes = new byte[size];
+        type2Codes = new byte[size];
+        for (Stat stat : Stat.values()) {
+            stats[stat.ordinal()] = new int[size];
+        }
+
+        for (int row = 0; row < size; row++) {
+            Pokemon pokemon = catalog.get(row);
+            pokedexNumbers[row] = pokemon.getPokedexNumber();
+            baseLevels[row] = pokemon.getBaseLevel();
+            evolvesFrom[row] = pokemon.getEvolvesFrom();
+            evolvesTo[row] = pokemon.getEvolvesTo();
+            evolutionLevels[row] = pokemon.getEvolutionLevel();
+            type1Codes[row] = typeCode(pokemon.getPrimaryType());
+            type2Codes[row] = typeCode(pokemon.getSecondaryType());
+            for (Stat stat : Stat.values()) {
+                stats[stat.ordinal()][row] = stat.baseValue(pokemon);
+            }
+        }
+    }
+
+    private static byte typeCode(Type type) {
+        return type != null ? (byte) type.ordinal() : NO_TYPE;
+    }
+
+    /**
+     * Summarizes a stat over all species, or over the species of one type.
+     *
+     * @param stat The stat to summarize
+     * @param type The type to restrict to, or null for all species
+     * @return The summary
+     */
+    public StatSummary summarize(Stat stat, Type type) {
+        int[] values = stats[stat.ordinal()];
+        int count = 0;
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        long sum = 0;
+
+        for (int row = 0; row < size; row++) {
+            if (type == null || hasType(row, type.ordinal())) {
+                int value = values[row];
+                count++;
+                sum += value;
+                if (value < min) min = value;
+                if (value > max) max = value;
+            }
+        }
+        return toSummary(count, min, max, sum);
+    }
+
+    /**
+     * Summarizes a stat for every type in one pass.
+     * A species with two types counts towards both.
+     *
+     * @param stat The stat to summarize
+     * @param parallel true to split large catalogs across the common ForkJoinPool
+     * @return A summary for each type (types with no species have count 0)
+     */
+    public Map<Type, StatSummary> summarizeByType(Stat stat, boolean parallel) {
+        TypeAccumulator total;
+        if (parallel && size > PARALLEL_CHUNK) {
+            int chunks = (size + PARALLEL_CHUNK - 1) / PARALLEL_CHUNK;
+            total = IntStream.range(0, chunks).parallel()
+                .mapToObj(chunk -> accumulate(stat, chunk * PARALLEL_CHUNK,
+                                              Math.min(size, (chunk + 1) * PARALLEL_CHUNK)))
+                .reduce(TypeAccumulator::merge)
+                .orElseGet(TypeAccumulator::new);
+        } else {
+            total = accumulate(stat, 0, size);
+        }
+
+        Map<Type, StatSummary> result = new EnumMap<>(Type.class);
+        for (Type type : Type.values()) {
+            int t = type.ordinal();
+            result.put(type, toSummary(total.count[t], total.min[t], total.max[t], total.sum[t]));
+        }
+        return result;
+    }
+
+    /**
+     * Builds a histogram of a stat over all species, or over one type.
+     * Bucket i counts values in [i * bucketWidth, (i + 1) * bucketWidth);
+     * negative values are counted in bucket 0.
+     *
+     * @param stat The stat to bucket
+     * @param type The type to restrict to, or null for all species
+     * @param bucketWidth The width of each bucket (must be positive)
+     * @return The bucket counts
+     */
+    public int[] histogram(Stat stat, Type type, int bucketWidth) {
+        if (bucketWidth <= 0) {
+            throw new IllegalArgumentException("Bucket width must be positive: " + bucketWidth);
+        }
+
+        StatSummary summary = summarize(stat, type);
+        if (summary.getCount() == 0) {
+            return new int[0];
+        }
+
+        int[] values = stats[stat.ordinal()];
+        int[] buckets = new int[Math.max(0, summary.getMax()) / bucketWidth + 1];
+        for (int row = 0; row < size; row++) {
+            if (type == null || hasType(row, type.ordinal())) {
+                buckets[Math.max(0, values[row]) / bucketWidth]++;
+            }
+        }
+        return buckets;
+    }
+
+    /**
+     * Gets the number of species in the columns.
+     * @return The number of rows
+     */
+    public int size() {
+        return size;
+    }
+
+    public int getPokedexNumber(int row) { return pokedexNumbers[row]; }
+    public int getBaseLevel(int row) { return baseLevels[row]; }
+    public int getEvolvesFrom(int row) { return evolvesFrom[row]; }
+    public int getEvolvesTo(int row) { return evolvesTo[row]; }
+    public int getEvolutionLevel(int row) { return evolutionLevels[row]; }
+    public int getStat(Stat stat, int row) { return stats[stat.ordinal()][row]; }
+    public byte getType1Code(int row) { return type1Codes[row]; }
+    public byte getType2Code(int row) { return type2Codes[row]; }
+
+    private boolean hasType(int row, int typeCode) {
+        return type1Codes[row] == typeCode || type2Codes[row] == typeCode;
+    }
+
+    /**
+     * Accumulates per-type totals for a range of rows.
+     */
+    private TypeAccumulator accumulate(Stat stat, int from, int to) {
+        int[] values = stats[stat.ordinal()];
+        TypeAccumulator acc = new TypeAccumulator();
+        for (int row = from; row < to; row++) {
+            int value = values[row];
+            acc.add(type1Codes[row], value);
+            if (type2Codes[row] != type1Codes[row]) {
+                acc.add(type2Codes[row], value);
+            }
+        }
+        return acc;
+    }
+
+    private static StatSummary toSummary(int count, int min, int max, long sum) {
+        return count == 0 ? new StatSummary(0, 0, 0, 0) : new StatSummary(count, min, max, sum);
+    }
+
+    /**
+     * Per-type running totals used while summarizing.
+     */
+    private static class TypeAccumulator {
+        private final int[] count = new int[Type.values().length];
+        private final int[] min = new int[Type.values().length];
+        private final int[] max = new int[Type.values().length];
+        private final long[] sum = new long[Type.values().length];
+
+        TypeAccumulator() {
+            Arrays.fill(min, Integer.MAX_VALUE);
+            Arrays.fill(max, Integer.MIN_VALUE);
+        }
+
+        void add(byte typeCode, int value) {
+            if (typeCode == NO_TYPE) {
+                return;
+            }
+            count[typeCode]++;
+            sum[typeCode] += value;
+            if (value < min[typeCode]) min[typeCode] = value;
+            if (value > max[typeCode]) max[typeCode] = value;
+        }
+
+        TypeAccumulator merge(TypeAccumulator other) {
+            for (int t = 0; t < count.length; t++) {
+                count[t] += other.count[t];
+                sum[t] += other.sum[t];
+                min[t] = Math.min(min[t], other.min[t]);
+                max[t] = Math.max(max[t], other.max[t]);
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+import java.util.*;
+
+/**
+ * Registry of Pokémon species known to a model.
+ * This class keeps precomputed Pokédex number and name lookups over
+ * the species catalog so that evolution, duplicate checks and other
+ * species lookups are constant-time, in-memory operations.
+ *
+ * The registry is owned by a PokemonModel, which keeps it in sync
+ * whenever species are added or loaded. Trainers receive the registry
+ * of the model they belong to and use it to resolve evolutions.
+ *
+ * @author Enhanced Pokédex Team
+ * @version 1.0
+ * @since 2024
+ */
+public class SpeciesRegistry {
+    /** Species indexed by their Pokédex number */
+    private Map<Integer, Pokemon> byPokedexNumber = new HashMap<>();
+    /** Species indexed by their case-normalized name */
+    private Map<String, Pokemon> byName = new HashMap<>();
+    /** Evolution graph over the registered species (rebuilt after changes) */
+    private EvolutionGraph evolutionGraph;
+
+    /**
+     * Registers a species in the registry.
+     * The first species registered under a Pokédex number or name
+     * is kept, matching the order-based lookups of the species list.
+     *
+     * @param pokemon The species to register
+     */
+    public void register(Pokemon pokemon) {
+        byPokedexNumber.putIfAbsent(pokemon.getPokedexNumber(), pokemon);
+        byName.putIfAbsent(normalizeName(pokemon.getName()), pokemon);
+        evolutionGraph = null;
+    }
+
+    /**
+     * Removes all species from the registry.
+     */
+    public void clear() {
+        byPokedexNumber.clear();
+        byName.clear();
+        evolutionGraph = null;
+    }
+
+    /**
+     * Finds a species by its Pokédex number.
+     * The returned instance is the shared species template and
+     * must not be mutated by callers.
+     *
+     * @param pokedexNumber The Pokédex number to look up
+     * @return The species, or null if not registered
+     */
+    public Pokemon findByPokedexNumber(int pokedexNumber) {
+        return byPokedexNumber.get(pokedexNumber);
+    }
+
+    /**
+     * Checks if a species with the given Pokédex number is registered.
+     *
+     * @param pokedexNumber The Pokédex number to check
+     * @return true if the species is registered, false otherwise
+     */
+    public boolean contains(int pokedexNumber) {
+        return byPokedexNumber.containsKey(pokedexNumber);
+    }
+
+    /**
+     * Finds a species by name, ignoring case.
+     * The returned instance is the shared species template and
+     * must not be mutated by callers.
+     *
+     * @param name The name to look up
+     * @return The species, or null if not registered
+     */
+    public Pokemon findByName(String name) {
+        if (name == null) {
+            return null;
+        }
+        return byName.get(normalizeName(name));
+    }
+
+    /**
+     * Checks if a species with the given name is registered, ignoring case.
+     *
+     * @param name The name to check
+     * @return true if the species is registered, false otherwise
+     */
+    public boolean containsName(String name) {
+        return findByName(name) != null;
+    }
+
+    /**
+     * Gets the evolution graph over the registered species.
+     * The graph is built on first use after the registry changes.
+     *
+     * @return The evolution graph
+     */
+    public EvolutionGraph getEvolutionGraph() {
+        if (evolutionGraph == null) {
+            evolutionGraph = new EvolutionGraph(byPokedexNumber.values());
+        }
+        return evolutionGraph;
+    }
+
+    /**
+     * Normalizes a species name for case-insensitive lookups.
+     *
+     * @param name The name to normalize
+     * @return The normalized lookup key
+     */
+    public static String normalizeName(String name) {
+        return name.toLowerCase();
+    }
+
+    /**
+     * Gets the number of registered species.
+     * @return The number of species in the registry
+     */
+    public int size() {
+        return byPokedexNumber.size();
+    }
+}
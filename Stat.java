@@ -0,0 +1,59 @@
+/**
+ * Enumeration of the Pokémon statistics that can be queried and ranked.
+ * Each constant knows how to read its base and current value from a
+ * Pokémon, so stat-based indexes and queries do not need a switch
+ * over stat names.
+ *
+ * @author Enhanced Pokédex Team
+ * @version 1.0
+ * @since 2024
+ */
+public enum Stat {
+    HP("HP"),
+    ATTACK("Attack"),
+    DEFENSE("Defense"),
+    SPEED("Speed");
+
+    /** The display name used in the GUI */
+    private final String displayName;
+
+    Stat(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * Gets the display name of this stat.
+     * @return The display name, e.g. "Speed"
+     */
+    public String getDisplayName() { return displayName; }
+
+    /**
+     * Reads the base value of this stat from a Pokémon.
+     *
+     * @param pokemon The Pokémon to read from
+     * @return The base stat value
+     */
+    public int baseValue(Pokemon pokemon) {
+        switch (this) {
+            case HP: return pokemon.getBaseHP();
+            case ATTACK: return pokemon.getBaseAttack();
+            case DEFENSE: return pokemon.getBaseDefense();
+            default: return pokemon.getBaseSpeed();
+        }
+    }
+
+    /**
+     * Reads the current value of this stat from a Pokémon.
+     *
+     * @param pokemon The Pokémon to read from
+     * @return The current stat value
+     */
+    public int currentValue(Pokemon pokemon) {
+        switch (this) {
+            case HP: return pokemon.getCurrentHP();
+            case ATTACK: return pokemon.getCurrentAttack();
+            case DEFENSE: return pokemon.getCurrentDefense();
+            default: return pokemon.getCurrentSpeed();
+        }
+    }
+}
@@ -0,0 +1,191 @@
+import java.util.*;
+
+/**
+ * Sorted range index over the base stats of the species catalog.
+ * For every Stat this class keeps the species rows sorted by that
+ * stat in two primitive arrays, so range queries such as
+ * "base Speed between 80 and 120" are answered with two binary
+ * searches instead of a scan over every species.
+ *
+ * The index is a snapshot of the catalog taken when it is built;
+ * PokemonModel rebuilds it after the catalog changes.
+ *
+ * @author Enhanced Pokédex Team
+ * @version 1.0
+ * @since 2024
+ */
+public class StatIndex {
+    /** Species in catalog order at the time the index was built */
+    private Pokemon[] species;
+    /** Stat values in ascending order, indexed by Stat ordinal */
+    private int[][] sortedValues = new int[Stat.values().length][];
+    /** Species rows matching sortedValues, indexed by Stat ordinal */
+    private int[][] sortedRows = new int[Stat.values().length][];
+
+    /**
+     * Constructor that builds the index from a species catalog.
+     *
+     * @param catalog The species to index
+     */
+    public StatIndex(List<Pokemon> catalog) {
+        species = catalog.toArray(new Pokemon[0]);
+
+        long[] packed = new long[species.length];
+        for (Stat stat : Stat.values()) {
+            // Pack (value, row) into one long so a primitive sort orders by value, then row
+            for (int row = 0; row < species.length; row++) {
+                packed[row] = ((long) stat.baseValue(species[row]) << 32) | row;
+            }
+            Arrays.sort(packed);
+
+            int[] values = new int[species.length];
+            int[] rows = new int[species.length];
+            for (int i = 0; i < packed.length; i++) {
+                values[i] = (int) (packed[i] >> 32);
+                rows[i] = (int) packed[i];
+            }
+            sortedValues[stat.ordinal()] = values;
+            sortedRows[stat.ordinal()] = rows;
+        }
+    }
+
+    /**
+     * Counts the species whose base stat lies in a range.
+     *
+     * @param stat The stat to filter on
+     * @param min The lowest accepted value (inclusive)
+     * @param max The highest accepted value (inclusive)
+     * @return The number of matching species
+     */
+    public int count(Stat stat, int min, int max) {
+        if (min > max) {
+            return 0;
+        }
+        int[] values = sortedValues[stat.ordinal()];
+        return upperBound(values, max) - lowerBound(values, min);
+    }
+
+    /**
+     * Gets the species whose base stat lies in a range.
+     * The result is a lazy, read-only view in ascending stat order;
+     * no list of results is built up front.
+     *
+     * @param stat The stat to filter on
+     * @param min The lowest accepted value (inclusive)
+     * @param max The highest accepted value (inclusive)
+     * @return Read-only view of the matching species
+     */
+    public List<Pokemon> range(Stat stat, int min, int max) {
+        if (min > max) {
+            return Collections.emptyList();
+        }
+        int[] values = sortedValues[stat.ordinal()];
+        int[] rows = sortedRows[stat.ordinal()];
+        int from = lowerBound(values, min);
+        int to = upperBound(values, max);
+
+        return new AbstractList<Pokemon>() {
+            @Override
+            public Pokemon get(int index) {
+                if (index < 0 || index >= to - from) {
+                    throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+                }
+                return species[rows[from + index]];
+            }
+
+            @Override
+            public int size() {
+                return to - from;
+            }
+        };
+    }
+
+    /**
+     * Gets the catalog rows of the species whose base stat lies in a range.
+     *
+     * @param stat The stat to filter on
+     * @param min The lowest accepted value (inclusive)
+     * @param max The highest accepted value (inclusive)
+     * @return The matching rows in ascending row order
+     */
+    public int[] rowsInRange(Stat stat, int min, int max) {
+        if (min > max) {
+            return new int[0];
+        }
+        int[] values = sortedValues[stat.ordinal()];
+        int[] rows = Arrays.copyOfRange(sortedRows[stat.ordinal()],
+                                        lowerBound(values, min), upperBound(values, max));
+        Arrays.sort(rows);
+        return rows;
+    }
+
+    /**
+     * Gets the species with the highest values of a stat.
+     * The result is a lazy, read-only view in descending stat order.
+     *
+     * @param stat The stat to rank by
+     * @param k The maximum number of species to return
+     * @return Read-only view of up to k species
+     */
+    public List<Pokemon> top(Stat stat, int k) {
+        int[] rows = sortedRows[stat.ordinal()];
+        int count = Math.max(0, Math.min(k, rows.length));
+
+        return new AbstractList<Pokemon>() {
+            @Override
+            public Pokemon get(int index) {
+                if (index < 0 || index >= count) {
+                    throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
+                }
+                return species[rows[rows.length - 1 - index]];
+            }
+
+            @Override
+            public int size() {
+                return count;
+            }
+        };
+    }
+
+    /**
+     * Gets the number of species in the index.
+     * @return The number of indexed species
+     */
+    public int size() {
+        return species.length;
+    }
+
+    /**
+     * Finds the first position whose value is at least key.
+     */
+    private static int lowerBound(int[] values, int key) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Finds the first position whose value is greater than key.
+     */
+    private static int upperBound(int[] values, int key) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] <= key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,159 @@
+import java.util.*;
+
+/**
+ * Live stat leaderboards over trainer-owned Pokémon.
+ * For every Stat this class keeps the owned Pokémon ordered by their
+ * current value of that stat, highest first. Trainers update the
+ * leaderboard as Pokémon are added, released or boosted by items, so
+ * "top K" queries only read the first K entries instead of collecting
+ * and sorting every lineup and storage box.
+ *
+ * Ties are ordered by the time a Pokémon joined the leaderboard.
+ *
+ * @author Enhanced Pokédex Team
+ * @version 1.0
+ * @since 2024
+ */
+public class StatLeaderboard {
+    /**
+     * A ranked Pokémon together with its owner and stat value.
+     * Entries are immutable snapshots; an update replaces the entry.
+     */
+    public static class Entry {
+        /** The trainer who owns the Pokémon */
+        private final Trainer trainer;
+        /** The ranked Pokémon */
+        private final Pokemon pokemon;
+        /** The stat value the Pokémon is ranked by */
+        private final int value;
+        /** Order in which the Pokémon joined the leaderboard (tie-breaker) */
+        private final long sequence;
+
+        private Entry(Trainer trainer, Pokemon pokemon, int value, long sequence) {
+            this.trainer = trainer;
+            this.pokemon = pokemon;
+            this.value = value;
+            this.sequence = sequence;
+        }
+
+        public Trainer getTrainer() { return trainer; }
+        public Pokemon getPokemon() { return pokemon; }
+        public int getValue() { return value; }
+    }
+
+    /** Highest value first, then earliest added */
+    private static final Comparator<Entry> RANK_ORDER = (a, b) ->
+        a.value != b.value ? Integer.compare(b.value, a.value) : Long.compare(a.sequence, b.sequence);
+
+    /** Ranked entries for each stat */
+    private Map<Stat, TreeSet<Entry>> rankings = new EnumMap<>(Stat.class);
+    /** Current entries of each ranked Pokémon, indexed by Stat ordinal */
+    private Map<Pokemon, Entry[]> entries = new IdentityHashMap<>();
+    /** Sequence number given to the next Pokémon added */
+    private long nextSequence;
+
+    /**
+     * Constructor - creates empty leaderboards for every stat.
+     */
+    public StatLeaderboard() {
+        for (Stat stat : Stat.values()) {
+            rankings.put(stat, new TreeSet<>(RANK_ORDER));
+        }
+    }
+
+    /**
+     * Adds an owned Pokémon to every leaderboard.
+     * Adding a Pokémon that is already ranked only refreshes its values.
+     *
+     * @param trainer The trainer who owns the Pokémon
+     * @param pokemon The Pokémon to rank
+     */
+    public void add(Trainer trainer, Pokemon pokemon) {
+        if (entries.containsKey(pokemon)) {
+            update(pokemon);
+            return;
+        }
+
+        long sequence = nextSequence++;
+        Entry[] current = new Entry[Stat.values().length];
+        for (Stat stat : Stat.values()) {
+            current[stat.ordinal()] = new Entry(trainer, pokemon, stat.currentValue(pokemon), sequence);
+            rankings.get(stat).add(current[stat.ordinal()]);
+        }
+        entries.put(pokemon, current);
+    }
+
+    /**
+     * Re-ranks a Pokémon after its current stats changed.
+     * Pokémon that are not ranked are ignored.
+     *
+     * @param pokemon The Pokémon whose stats changed
+     */
+    public void update(Pokemon pokemon) {
+        Entry[] current = entries.get(pokemon);
+        if (current == null) {
+            return;
+        }
+
+        for (Stat stat : Stat.values()) {
+            Entry old = current[stat.ordinal()];
+            int value = stat.currentValue(pokemon);
+            if (old.value != value) {
+                TreeSet<Entry> ranking = rankings.get(stat);
+                ranking.remove(old);
+                current[stat.ordinal()] = new Entry(old.trainer, pokemon, value, old.sequence);
+                ranking.add(current[stat.ordinal()]);
+            }
+        }
+    }
+
+    /**
+     * Removes a Pokémon from every leaderboard.
+     *
+     * @param pokemon The Pokémon to remove
+     */
+    public void remove(Pokemon pokemon) {
+        Entry[] current = entries.remove(pokemon);
+        if (current == null) {
+            return;
+        }
+
+        for (Stat stat : Stat.values()) {
+            rankings.get(stat).remove(current[stat.ordinal()]);
+        }
+    }
+
+    /**
+     * Removes every Pokémon from the leaderboards.
+     */
+    public void clear() {
+        for (TreeSet<Entry> ranking : rankings.values()) {
+            ranking.clear();
+        }
+        entries.clear();
+    }
+
+    /**
+     * Gets the highest ranked Pokémon for a stat.
+     *
+     * @param stat The stat to rank by
+     * @param k The maximum number of entries to return
+     * @return Up to k entries, highest value first
+     */
+    public List<Entry> top(Stat stat, int k) {
+        List<Entry> result = new ArrayList<>(Math.max(0, Math.min(k, entries.size())));
+        Iterator<Entry> it = rankings.get(stat).iterator();
+        while (result.size() < k && it.hasNext()) {
+            result.add(it.next());
+        }
+        return result;
+    }
+
+    /**
+     * Gets the number of ranked Pokémon.
+     * @return The number of Pokémon on the leaderboards
+     */
+    public int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,271 @@
+import java.util.*;
+
+/**
+ * Parsed form of a structured search such as
+ * {@code type:fire speed>90 name:char*} or
+ * {@code hometown:"pallet town" money<50000}.
+ *
+ * A query is a list of terms separated by spaces; every term must hold:
+ * - {@code field:value} or {@code field=value} compares a field with a value;
+ *   a trailing * on a text value (char*) matches by prefix
+ * - {@code field<n}, {@code field<=n}, {@code field>n}, {@code field>=n}
+ *   compare a numeric field
+ * - a bare word or "quoted phrase" must appear in any searchable field,
+ *   like the plain search
+ *
+ * Values may be quoted to include spaces. Text is compared ignoring case
+ * and accents (see SearchKey). Which fields exist depends on the entity
+ * kind; PokemonModel resolves them when it plans the query.
+ *
+ * @author Enhanced Pokédex Team
+ * @version 1.0
+ * @since 2024
+ */
+public final class StructuredQuery {
+    /**
+     * Comparison operators.
+     */
+    public enum Op { EQ, LT, LE, GT, GE }
+
+    /**
+     * One condition of a query.
+     */
+    public static final class Term {
+        /** Lowercase field name, or null for a bare word or phrase */
+        private final String field;
+        /** The comparison */
+        private final Op op;
+        /** The value as written (without quotes or trailing *) */
+        private final String value;
+        /** The value normalized with SearchKey.normalize */
+        private final String normalizedValue;
+        /** true if the value ended with an unquoted * */
+        private final boolean prefix;
+
+        private Term(String field, Op op, String value, boolean prefix) {
+            this.field = field;
+            this.op = op;
+            this.value = value;
+            this.normalizedValue = SearchKey.normalize(value);
+            this.prefix = prefix;
+        }
+
+        public String getField() { return field; }
+        public Op getOp() { return op; }
+        public String getValue() { return value; }
+        public String getNormalizedValue() { return normalizedValue; }
+        public boolean isPrefix() { return prefix; }
+
+        /**
+         * Gets the value of a numeric comparison.
+         *
+         * @return The value as an int
+         * @throws IllegalArgumentException if the value is not a whole number
+         */
+        public int intValue() {
+            try {
+                return Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Expected a number for " + field + ": " + value);
+            }
+        }
+
+        /**
+         * Gets the lowest number this term accepts.
+         * @return The inclusive lower bound
+         */
+        public int min() {
+            switch (op) {
+                case GT: return intValue() == Integer.MAX_VALUE ? Integer.MAX_VALUE : intValue() + 1;
+                case GE:
+                case EQ: return intValue();
+                default: return Integer.MIN_VALUE;
+            }
+        }
+
+        /**
+         * Gets the highest number this term accepts.
+         * @return The inclusive upper bound
+         */
+        public int max() {
+            switch (op) {
+                case LT: return intValue() == Integer.MIN_VALUE ? Integer.MIN_VALUE : intValue() - 1;
+                case LE:
+                case EQ: return intValue();
+                default: return Integer.MAX_VALUE;
+            }
+        }
+
+        /**
+         * Checks a numeric field value against this term.
+         *
+         * @param number The field value
+         * @return true if the value satisfies the comparison
+         */
+        public boolean matches(int number) {
+            return number >= min() && number <= max();
+        }
+
+        /**
+         * Checks a text field value against this term: equal, or starting
+         * with the value for a prefix term, ignoring case and accents.
+         *
+         * @param text The field value (may be null)
+         * @return true if the value matches
+         * @throws IllegalArgumentException if the term is a numeric comparison
+         */
+        public boolean matchesText(String text) {
+            requireEquality();
+            if (text == null) {
+                return false;
+            }
+            String normalized = SearchKey.normalize(text);
+            return prefix ? normalized.startsWith(normalizedValue) : normalized.equals(normalizedValue);
+        }
+
+        /**
+         * Rejects <, <=, > and >= on fields that are not numeric.
+         *
+         * @throws IllegalArgumentException if the term is not an equality
+         */
+        public void requireEquality() {
+            if (op != Op.EQ) {
+                throw new IllegalArgumentException("Field " + field + " only supports ':' or '='");
+            }
+        }
+
+        @Override
+        public String toString() {
+            if (field == null) {
+                return "\"" + value + "\"";
+            }
+            String symbol = op == Op.EQ ? ":" : op == Op.LT ? "<" : op == Op.LE ? "<=" : op == Op.GT ? ">" : ">=";
+            return field + symbol + value + (prefix ? "*" : "");
+        }
+    }
+
+    /** The terms, in the order they were written */
+    private final List<Term> terms;
+
+    private StructuredQuery(List<Term> terms) {
+        this.terms = Collections.unmodifiableList(terms);
+    }
+
+    /**
+     * Gets the terms of the query.
+     * @return The terms, in the order they were written
+     */
+    public List<Term> getTerms() {
+        return terms;
+    }
+
+    /**
+     * Checks quickly whether text uses the structured syntax, that is,
+     * whether some word is followed by ':', '=', '<' or '>'.
+     *
+     * @param text The search text
+     * @return true if the text should be parsed as a structured query
+     */
+    public static boolean looksStructured(String text) {
+        for (int i = 1; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if ((c == ':' || c == '=' || c == '<' || c == '>') && Character.isLetter(text.charAt(i - 1))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Parses a structured query.
+     *
+     * @param text The query text
+     * @return The parsed query
+     * @throws IllegalArgumentException if the text is not a valid query
+     */
+    public static StructuredQuery parse(String text) {
+        List<Term> terms = new ArrayList<>();
+        int pos = 0;
+        int length = text.length();
+
+        while (pos < length) {
+            if (Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+                continue;
+            }
+
+            // Field name, if the word is followed by an operator
+            int fieldEnd = pos;
+            while (fieldEnd < length && (Character.isLetterOrDigit(text.charAt(fieldEnd)) || text.charAt(fieldEnd) == '_')) {
+                fieldEnd++;
+            }
+            Op op = null;
+            int valueStart = fieldEnd;
+            if (fieldEnd > pos && fieldEnd < length) {
+                char c = text.charAt(fieldEnd);
+                boolean orEqual = fieldEnd + 1 < length && text.charAt(fieldEnd + 1) == '=';
+                if (c == ':' || c == '=') {
+                    op = Op.EQ;
+                    valueStart = fieldEnd + 1;
+                } else if (c == '<') {
+                    op = orEqual ? Op.LE : Op.LT;
+                    valueStart = fieldEnd + (orEqual ? 2 : 1);
+                } else if (c == '>') {
+                    op = orEqual ? Op.GE : Op.GT;
+                    valueStart = fieldEnd + (orEqual ? 2 : 1);
+                }
+            }
+
+            String field = op != null ? text.substring(pos, fieldEnd).toLowerCase() : null;
+            if (op == null) {
+                op = Op.EQ;
+                valueStart = pos;
+            }
+
+            // Value: a quoted string or everything up to the next space
+            String value;
+            boolean prefix = false;
+            if (valueStart < length && text.charAt(valueStart) == '"') {
+                int close = text.indexOf('"', valueStart + 1);
+                if (close < 0) {
+                    throw new IllegalArgumentException("Missing closing quote: " + text.substring(pos));
+                }
+                value = text.substring(valueStart + 1, close);
+                pos = close + 1;
+            } else {
+                int valueEnd = valueStart;
+                while (valueEnd < length && !Character.isWhitespace(text.charAt(valueEnd))) {
+                    valueEnd++;
+                }
+                value = text.substring(valueStart, valueEnd);
+                pos = valueEnd;
+                if (value.endsWith("*")) {
+                    prefix = true;
+                    value = value.substring(0, value.length() - 1);
+                }
+            }
+
+            if (value.isEmpty()) {
+                throw new IllegalArgumentException("Missing value" + (field != null ? " for " + field : ""));
+            }
+            terms.add(new Term(field, op, value, prefix && field != null));
+        }
+
+        if (terms.isEmpty()) {
+            throw new IllegalArgumentException("Empty query");
+        }
+        return new StructuredQuery(terms);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Term term : terms) {
+            if (sb.length() > 0) {
+                sb.append(' ');
+            }
+            sb.append(term);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,89 @@
+import java.util.*;
+
+/**
+ * Inverted word index over the text fields of a list of entities.
+ * Each normalized token (a lowercase run of letters and digits) maps
+ * to a posting list of the ids (list positions) of the entities whose
+ * fields contain that word. Multi-word queries are answered by
+ * intersecting posting lists instead of scanning every entity.
+ *
+ * Ids must be added in ascending order, which keeps every posting list
+ * sorted without extra work; PokemonModel uses list positions as ids
+ * and indexes entities as they are appended.
+ *
+ * @author Enhanced Pokédex Team
+ * @version 1.0
+ * @since 2024
+ */
+public class TokenIndex {
+    /** Posting list of each token */
+    private Map<String, PostingList> postings = new HashMap<>();
+
+    /**
+     * Indexes the text fields of an entity.
+     * Null fields are skipped.
+     *
+     * @param id The entity id (must not be lower than any id added before)
+     * @param fields The text fields to index
+     */
+    public void add(int id, String... fields) {
+        for (String field : fields) {
+            if (field == null) continue;
+            for (String token : tokenize(field)) {
+                postings.computeIfAbsent(token, t -> new PostingList()).add(id);
+            }
+        }
+    }
+
+    /**
+     * Removes every entry from the index.
+     */
+    public void clear() {
+        postings.clear();
+    }
+
+    /**
+     * Finds the entities that contain every word of a query.
+     *
+     * @param query The words to look for
+     * @return The matching ids in ascending order (empty if the query has no words)
+     */
+    public int[] search(String query) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            return new int[0];
+        }
+
+        List<PostingList> lists = new ArrayList<>(tokens.size());
+        for (String token : tokens) {
+            PostingList list = postings.get(token);
+            if (list == null) {
+                return new int[0];
+            }
+            lists.add(list);
+        }
+
+        return PostingList.intersectAll(lists);
+    }
+
+    /**
+     * Splits text into normalized tokens: lowercase runs of letters and digits.
+     *
+     * @param text The text to split
+     * @return The tokens, in order of appearance
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase());
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+}
@@ -1,3 +1,7 @@
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Represents a Pokémon trainer with their profile and inventory.
  * This class manages a trainer's personal information, Pokémon collection,
@@ -75,6 +79,17 @@ public class Trainer {
     /** Total number of items (including quantities) in inventory */
     private int totalItemCount;
     
+    /** Species registry used to resolve evolutions (provided by the owning model) */
+    private SpeciesRegistry speciesRegistry;
+    /** Stat leaderboard kept up to date with this trainer's Pokémon (provided by the owning model) */
+    private StatLeaderboard leaderboard;
+    /** Journal that records this trainer's changes (provided by the owning model) */
+    private TrainerJournal journal;
+    /** Cached normalized search key (null until first needed) */
+    private String searchKey;
+    /** Called after a searched field changes (provided by the owning model) */
+    private Runnable editListener;
+    
     /**
      * Constructor for creating a new trainer.
      * Initializes all trainer attributes and sets up empty
@@ -109,6 +124,53 @@ public class Trainer {
         this.totalItemCount = 0;
     }
     
+    /**
+     * Constructor for restoring a saved trainer, e.g. from a snapshot.
+     * The trainer keeps its saved ID; trainers created later get higher IDs.
+     * The Pokémon are used as given, not copied.
+     * 
+     * @param trainerID The trainer's ID
+     * @param name The trainer's name
+     * @param birthdate The trainer's birthdate
+     * @param sex The trainer's sex/gender
+     * @param hometown The trainer's hometown
+     * @param description A description of the trainer
+     * @param money The trainer's money
+     * @param lineup The Pokémon in the lineup
+     * @param storage The Pokémon in storage
+     * @param items The unique items in the inventory
+     * @param quantities The quantity of each item
+     * @throws IllegalArgumentException if the lineup, storage or inventory is too large
+     */
+    public Trainer(int trainerID, String name, String birthdate, String sex, String hometown,
+                   String description, int money, Pokemon[] lineup, Pokemon[] storage,
+                   Item[] items, int[] quantities) {
+        this.trainerID = trainerID;
+        trainerCount = Math.max(trainerCount, trainerID);
+        this.name = name;
+        this.birthdate = birthdate;
+        this.sex = sex;
+        this.hometown = hometown;
+        this.description = description;
+        this.money = money;
+        
+        this.maxStorage = 100;
+        if (lineup.length > MAX_LINEUP || storage.length > maxStorage || items.length > MAX_UNIQUE_ITEMS) {
+            throw new IllegalArgumentException("Too many Pokémon or items for trainer " + name);
+        }
+        this.lineup = Arrays.copyOf(lineup, MAX_LINEUP);
+        this.lineupCount = lineup.length;
+        this.storage = Arrays.copyOf(storage, maxStorage);
+        this.storageCount = storage.length;
+        
+        this.uniqueItems = Arrays.copyOf(items, MAX_UNIQUE_ITEMS);
+        this.itemQuantities = Arrays.copyOf(quantities, MAX_UNIQUE_ITEMS);
+        this.uniqueItemCount = items.length;
+        for (int quantity : quantities) {
+            this.totalItemCount += quantity;
+        }
+    }
+    
     /**
      * Buys an item from the shop.
      * Checks if the item is purchasable, if the trainer has enough money,
@@ -162,6 +224,10 @@ public class Trainer {
         money -= totalCost;
         totalItemCount += quantity;
         
+        if (journal != null) {
+            journal.recordItems(this, item, quantity, "buy");
+        }
+        
         System.out.println("Successfully bought " + quantity + " " + item.getName() + "(s) for ₽" + totalCost);
         return true;
     }
@@ -202,6 +268,9 @@ public class Trainer {
         
         // Add money
         money += totalEarned;
+        if (journal != null) {
+            journal.recordItems(this, item, quantity, "sell");
+        }
         
         System.out.println("Successfully sold " + quantity + " " + item.getName() + "(s) for ₽" + totalEarned);
         return true;
@@ -229,12 +298,17 @@ public class Trainer {
             return false;
         }
         
+        // Where the target is, for the journal (evolving does not move it)
+        int lineupIndex = journal != null ? indexOf(lineup, lineupCount, target) : -1;
+        int storageIndex = journal != null && lineupIndex < 0 ? indexOf(storage, storageCount, target) : -1;
+        
         // Apply item effect based on category
         String category = item.getCategory();
         
         if (category.equals("Vitamin") || category.equals("Feather")) {
             // Apply stat boost
             target.applyItemEffect(item);
+            statsChanged(target);
             System.out.println("Used " + item.getName() + " on " + target.getName() + "!");
             
             // Consume the item
@@ -255,6 +329,7 @@ public class Trainer {
                 // Try to evolve the Pokémon
                 evolveByLevel(target);
             }
+            statsChanged(target);
             
             // Consume the item
             itemQuantities[itemIndex]--;
@@ -268,6 +343,7 @@ public class Trainer {
             // Evolution stone logic
             System.out.println("Used " + item.getName() + " on " + target.getName() + "!");
             evolveByStone(target, item);
+            statsChanged(target);
             
             // Consume the item
             itemQuantities[itemIndex]--;
@@ -299,6 +375,9 @@ public class Trainer {
             return false;
         }
         
+        if (journal != null) {
+            journal.recordUseItem(this, item, lineupIndex, storageIndex, target);
+        }
         return true;
     }
     
@@ -320,6 +399,12 @@ public class Trainer {
         Pokemon trainerPokemon = new Pokemon(pokemon);
         lineup[lineupCount] = trainerPokemon;
         lineupCount++;
+        if (leaderboard != null) {
+            leaderboard.add(this, trainerPokemon);
+        }
+        if (journal != null) {
+            journal.recordAddPokemon(this, trainerPokemon, false);
+        }
         
         System.out.println(pokemon.getName() + " has been added to your lineup!");
         return true;
@@ -343,6 +428,12 @@ public class Trainer {
         Pokemon trainerPokemon = new Pokemon(pokemon);
         storage[storageCount] = trainerPokemon;
         storageCount++;
+        if (leaderboard != null) {
+            leaderboard.add(this, trainerPokemon);
+        }
+        if (journal != null) {
+            journal.recordAddPokemon(this, trainerPokemon, true);
+        }
         
         System.out.println(pokemon.getName() + " has been added to storage!");
         return true;
@@ -385,6 +476,9 @@ public class Trainer {
         
         // Update total count
         totalItemCount += quantity;
+        if (journal != null) {
+            journal.recordItems(this, item, quantity, "add");
+        }
         
         System.out.println("Added " + quantity + " " + item.getName() + "(s) to inventory");
         return true;
@@ -408,6 +502,9 @@ public class Trainer {
         Pokemon temp = lineup[lineupIndex];
         lineup[lineupIndex] = storage[storageIndex];
         storage[storageIndex] = temp;
+        if (journal != null) {
+            journal.recordSwitchFromStorage(this, storageIndex, lineupIndex);
+        }
         
         System.out.println("Successfully switched Pokémon!");
         return true;
@@ -437,6 +534,9 @@ public class Trainer {
         }
         lineup[lineupCount - 1] = null;
         lineupCount--;
+        if (journal != null) {
+            journal.recordMoveToStorage(this, lineupIndex);
+        }
         
         System.out.println("Pokémon moved to storage!");
         return true;
@@ -452,6 +552,9 @@ public class Trainer {
         }
         
         String pokemonName = lineup[lineupIndex].getName();
+        if (leaderboard != null) {
+            leaderboard.remove(lineup[lineupIndex]);
+        }
         
         // Shift lineup array
         for (int i = lineupIndex; i < lineupCount - 1; i++) {
@@ -459,6 +562,9 @@ public class Trainer {
         }
         lineup[lineupCount - 1] = null;
         lineupCount--;
+        if (journal != null) {
+            journal.recordRelease(this, lineupIndex, false);
+        }
         
         System.out.println(pokemonName + " has been released!");
         return true;
@@ -477,6 +583,9 @@ public class Trainer {
         boolean learned = pokemon.learnMove(move, replaceIndex);
         
         if (learned) {
+            if (journal != null) {
+                journal.recordTeachMove(this, pokemonIndex, move, replaceIndex);
+            }
             System.out.println(pokemon.getName() + " learned " + move.getName() + "!");
         } else {
             System.out.println(pokemon.getName() + " cannot learn " + move.getName() + "!");
@@ -485,6 +594,27 @@ public class Trainer {
         return learned;
     }
     
+    /**
+     * Re-ranks a Pokémon on the leaderboard after its stats changed
+     */
+    private void statsChanged(Pokemon pokemon) {
+        if (leaderboard != null) {
+            leaderboard.update(pokemon);
+        }
+    }
+    
+    /**
+     * Finds the position of a Pokémon instance in the lineup or storage, or -1
+     */
+    private static int indexOf(Pokemon[] pokemon, int count, Pokemon target) {
+        for (int i = 0; i < count; i++) {
+            if (pokemon[i] == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
     /**
      * Finds the index of an item in the inventory
      */
@@ -528,21 +658,77 @@ public class Trainer {
     public int getTotalItemCount() { return totalItemCount; }
     
     // Setters
-    public void setName(String name) { this.name = name; }
-    public void setBirthdate(String birthdate) { this.birthdate = birthdate; }
-    public void setSex(String sex) { this.sex = sex; }
-    public void setHometown(String hometown) { this.hometown = hometown; }
-    public void setDescription(String description) { this.description = description; }
+    public void setName(String name) { this.name = name; searchFieldsChanged(); journalField("name", name); }
+    public void setBirthdate(String birthdate) { this.birthdate = birthdate; journalField("birthdate", birthdate); }
+    public void setSex(String sex) { this.sex = sex; journalField("sex", sex); }
+    public void setHometown(String hometown) { this.hometown = hometown; searchFieldsChanged(); journalField("hometown", hometown); }
+    public void setDescription(String description) { this.description = description; searchFieldsChanged(); journalField("description", description); }
+    public void setSpeciesRegistry(SpeciesRegistry speciesRegistry) { this.speciesRegistry = speciesRegistry; }
+    
+    /**
+     * Sets the journal this trainer's changes are recorded in.
+     * Changes made before it is set are not recorded.
+     */
+    public void setJournal(TrainerJournal journal) { this.journal = journal; }
+    
+    /**
+     * Sets the callback run after a searched field of this trainer
+     * changes, so the owning model can update its search indexes.
+     */
+    public void setEditListener(Runnable editListener) { this.editListener = editListener; }
+    
+    private void searchFieldsChanged() {
+        searchKey = null;
+        if (editListener != null) {
+            editListener.run();
+        }
+    }
+    
+    private void journalField(String field, String value) {
+        if (journal != null) {
+            journal.recordSetField(this, field, value);
+        }
+    }
+    
+    /**
+     * Sets the leaderboard this trainer's Pokémon are ranked on.
+     * Pokémon the trainer already owns are added to it.
+     */
+    public void setLeaderboard(StatLeaderboard leaderboard) {
+        this.leaderboard = leaderboard;
+        if (leaderboard != null) {
+            for (int i = 0; i < lineupCount; i++) {
+                leaderboard.add(this, lineup[i]);
+            }
+            for (int i = 0; i < storageCount; i++) {
+                leaderboard.add(this, storage[i]);
+            }
+        }
+    }
+    
+    /**
+     * Gets the normalized search key of this trainer (see SearchKey),
+     * computed on first use and reset by the setters
+     */
+    public String getSearchKey() {
+        if (searchKey == null) {
+            searchKey = SearchKey.of(name, hometown, description, String.valueOf(trainerID));
+        }
+        return searchKey;
+    }
     
     /**
      * Checks if this trainer matches a search query
      */
     public boolean matchesSearch(String query) {
-        String lowerQuery = query.toLowerCase();
-        return name.toLowerCase().contains(lowerQuery) ||
-               hometown.toLowerCase().contains(lowerQuery) ||
-               description.toLowerCase().contains(lowerQuery) ||
-               String.valueOf(trainerID).contains(query);
+        return matchesNormalizedSearch(SearchKey.normalize(query));
+    }
+    
+    /**
+     * Checks if this trainer matches a query already normalized with SearchKey.normalize
+     */
+    public boolean matchesNormalizedSearch(String normalizedQuery) {
+        return getSearchKey().contains(normalizedQuery);
     }
     
     /**
@@ -566,18 +752,23 @@ public class Trainer {
     }
     
     /**
-     * Evolves a Pokémon by level up
+     * Evolves a Pokémon by level up, skipping straight through any
+     * further stages whose level requirement is already met
      */
     private void evolveByLevel(Pokemon pokemon) {
         if (pokemon.getEvolvesTo() == -1 || pokemon.getCurrentLevel() < pokemon.getEvolutionLevel()) {
             return;
         }
         
-        // Find the evolution Pokemon by Pokedex number
-        Pokemon evolution = findPokemonByPokedexNumber(pokemon.getEvolvesTo());
-        if (evolution != null) {
+        // Follow the evolution graph through every stage reached at this level
+        List<Pokemon> stages = speciesRegistry != null
+            ? speciesRegistry.getEvolutionGraph().getLevelEvolutionPath(pokemon.getPokedexNumber(), pokemon.getCurrentLevel())
+            : Collections.<Pokemon>emptyList();
+        if (!stages.isEmpty()) {
             String oldName = pokemon.getName();
-            pokemon.evolve(evolution);
+            for (Pokemon stage : stages) {
+                pokemon.evolve(stage);
+            }
             System.out.println(oldName + " evolved into " + pokemon.getName() + "!");
         } else {
             System.out.println(pokemon.getName() + " is ready to evolve, but evolution data not found.");
@@ -623,6 +814,9 @@ public class Trainer {
         }
         
         String pokemonName = storage[storageIndex].getName();
+        if (leaderboard != null) {
+            leaderboard.remove(storage[storageIndex]);
+        }
         
         // Shift storage array
         for (int i = storageIndex; i < storageCount - 1; i++) {
@@ -630,6 +824,9 @@ public class Trainer {
         }
         storage[storageCount - 1] = null;
         storageCount--;
+        if (journal != null) {
+            journal.recordRelease(this, storageIndex, true);
+        }
         
         System.out.println(pokemonName + " has been released from storage!");
         return true;
@@ -638,10 +835,12 @@ public class Trainer {
     public static int getTrainerCount() { return trainerCount; }
     
     /**
-     * Helper method to find Pokemon by Pokedex number (now uses the main Pokemon list)
+     * Helper method to find Pokemon by Pokedex number (uses the owning model's species registry)
      */
     private Pokemon findPokemonByPokedexNumber(int pokedexNumber) {
-        // Use the static method from PokemonModel to search the main list
-        return PokemonModel.findPokemonByPokedexNumberStatic(pokedexNumber, new PokemonModel().getPokemonList());
+        if (speciesRegistry == null) {
+            return null;
+        }
+        return speciesRegistry.findByPokedexNumber(pokedexNumber);
     }
 }
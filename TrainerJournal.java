@@ -0,0 +1,861 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of trainer changes.
+ * Every successful trainer mutation (buying, selling and using items,
+ * catching, switching and releasing Pokémon, teaching moves, editing
+ * the profile, adding a trainer) appends one compact binary record, so
+ * saving costs as much as the change itself rather than the whole data
+ * set. Records are replayed on top of the last snapshot at startup.
+ *
+ * Records are numbered with increasing sequence numbers and stored in
+ * segment files named {@code <base>.<first sequence number>}. Each
+ * record is framed by its length and CRC-32, so a record torn by a crash
+ * is detected and dropped. A snapshot remembers the last sequence number
+ * it includes; segments it fully covers can then be deleted (see
+ * rotate() and deleteSegmentsThrough()).
+ *
+ * Appends are group-committed: append() only queues the record, and a
+ * background thread writes everything queued with one write and one
+ * fsync, then starts over with whatever arrived meanwhile. A crash may
+ * lose the last few milliseconds of changes; sync() waits until all
+ * queued records are on disk.
+ *
+ * Only one journal may be open for writing on a base name at a time;
+ * this is enforced with a lock file. Opening a journal whose lock is
+ * held elsewhere still replays it, but gives a read-only journal that
+ * ignores appends and only remembers the last replayed sequence number.
+ *
+ * @author Enhanced Pokédex Team
+ * @version 1.0
+ * @since 2024
+ */
+public class TrainerJournal implements Closeable {
+    /** "PKDXJRNL" in ASCII */
+    private static final long MAGIC = 0x504B44584A524E4CL;
+    /** Version of the segment layout; segments with another version are rejected */
+    public static final int FORMAT_VERSION = 1;
+    /** Bytes before the first record: magic, version, first sequence number */
+    private static final int HEADER_BYTES = 8 + 4 + 8;
+    /** Largest valid record payload */
+    private static final int MAX_RECORD_BYTES = 1 << 20;
+
+    /**
+     * Kinds of journal records. The codes are stored in the file and
+     * must never change.
+     */
+    private enum Op {
+        ADD_TRAINER(1), SET_NAME(2), SET_BIRTHDATE(3), SET_SEX(4), SET_HOMETOWN(5), SET_DESCRIPTION(6),
+        ADD_TO_LINEUP(7), ADD_TO_STORAGE(8), ADD_ITEM(9), BUY_ITEM(10), SELL_ITEM(11), USE_ITEM(12),
+        SWITCH_FROM_STORAGE(13), MOVE_TO_STORAGE(14), RELEASE(15), RELEASE_FROM_STORAGE(16), TEACH_MOVE(17);
+
+        private final int code;
+
+        Op(int code) {
+            this.code = code;
+        }
+
+        private static Op of(int code) throws IOException {
+            for (Op op : values()) {
+                if (op.code == code) {
+                    return op;
+                }
+            }
+            throw new IOException("Unknown journal record type " + code);
+        }
+    }
+
+    /** Where the target of a USE_ITEM record is */
+    private static final int TARGET_LINEUP = 0;
+    private static final int TARGET_STORAGE = 1;
+    private static final int TARGET_OTHER = 2;
+
+    /**
+     * Looks up what journal records refer to while they are replayed.
+     */
+    public interface Resolver {
+        /** @return The trainer with this ID, or null */
+        Trainer findTrainer(int trainerID);
+        /** @return The item with this name, or null */
+        Item findItem(String name);
+        /** @return The move with this name, or null */
+        Move findMove(String name);
+        /** @return The species with this name, or null */
+        Species findSpecies(String name);
+        /** Adds a trainer created by a replayed record */
+        void addTrainer(Trainer trainer);
+    }
+
+    /** Base name of the segment files */
+    private final String baseName;
+    /** Lock held while the journal is open (null if it is read-only) */
+    private final FileLock lock;
+    /** Segments on disk by first sequence number; the last one is active */
+    private final TreeMap<Long, Path> segments = new TreeMap<>();
+    /** The active segment, appended to by the writer thread */
+    private FileChannel active;
+    /** Writes and fsyncs queued records (null if the journal is read-only) */
+    private final Thread writer;
+    /** Called after each append, or null */
+    private volatile Runnable appendListener;
+
+    /** Guards everything below */
+    private final Object monitor = new Object();
+    /** Framed records waiting for the writer */
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+    /** Sequence number of the last appended record */
+    private long lastSequence;
+    /** Sequence number of the last record known to be on disk */
+    private long durableSequence;
+    /** Bytes appended to the journal since it was opened or last rotated */
+    private long bytesSinceRotate;
+    /** Set when a write fails; no more records are written after that */
+    private IOException failure;
+    /** true once close() was called */
+    private boolean closed;
+    /** Intact records open() found but could not replay */
+    private long unreplayedRecords;
+
+    private TrainerJournal(String baseName, FileLock lock, long lastSequence) throws IOException {
+        this.baseName = baseName;
+        this.lock = lock;
+        this.lastSequence = lastSequence;
+        this.durableSequence = lastSequence;
+        segments.putAll(listSegments(baseName));
+        startSegment(lastSequence + 1);
+
+        writer = new Thread(this::writeLoop, "trainer-journal-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Constructor for a read-only journal, whose lock is held elsewhere.
+     */
+    private TrainerJournal(String baseName, long lastSequence) {
+        this.baseName = baseName;
+        this.lock = null;
+        this.lastSequence = lastSequence;
+        this.durableSequence = lastSequence;
+        this.writer = null;
+    }
+
+    /**
+     * Opens the journal for appending, after replaying the records that
+     * follow a snapshot.
+     *
+     * Replay stops at the first record that is torn or damaged; that
+     * record and everything after it is discarded, with a message.
+     * Replay also stops at the first record that cannot be applied, for
+     * example one naming a trainer or item that no longer exists; that
+     * record and the ones after it are left in the journal and counted
+     * by getUnreplayedRecords().
+     * If resolver is null, nothing is replayed and every existing segment
+     * is deleted, for when the model was not loaded from a snapshot and
+     * old records no longer apply.
+     *
+     * @param baseName Base name of the segment files
+     * @param afterSequence Sequence number of the last record the snapshot includes
+     * @param resolver Looks up the trainers and entities records refer to, or null to discard old records
+     * @return The open journal; read-only (see isWritable()) if another journal
+     *         is open on this base name, in which case nothing is discarded,
+     *         or if some records could not be replayed
+     * @throws IOException if the journal files cannot be read or written
+     */
+    public static TrainerJournal open(String baseName, long afterSequence, Resolver resolver) throws IOException {
+        FileChannel lockChannel = FileChannel.open(Paths.get(baseName + ".lock"),
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock lock;
+        try {
+            lock = lockChannel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            lock = null;
+        }
+        if (lock == null) {
+            lockChannel.close();
+        }
+
+        try {
+            long lastSequence = afterSequence;
+            long unreplayed = 0;
+            boolean damaged = false;
+            for (Path path : listSegments(baseName).values()) {
+                if (resolver == null || damaged) {
+                    if (lock != null) {
+                        Files.delete(path);
+                    }
+                    continue;
+                }
+                // Once a record could not be applied, later ones are only counted
+                Replay replay = replaySegment(path, afterSequence, unreplayed == 0 ? resolver : null);
+                lastSequence = Math.max(lastSequence, replay.lastSequence);
+                unreplayed += replay.unreplayed;
+                if (replay.damagedAt < 0) {
+                    continue;
+                }
+                // Keep what was replayed, drop the rest of this segment and every later one
+                damaged = true;
+                if (lock != null) {
+                    if (replay.damagedAt < HEADER_BYTES) {
+                        Files.delete(path);
+                    } else {
+                        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                            channel.truncate(replay.damagedAt);
+                        }
+                    }
+                }
+            }
+            if (unreplayed > 0) {
+                System.err.println(unreplayed + " journal records could not be replayed; leaving them in " + baseName);
+                // Appending after them would make them harder to recover
+                if (lock != null) {
+                    lock.channel().close();
+                    lock = null;
+                }
+            }
+            TrainerJournal journal = lock != null ? new TrainerJournal(baseName, lock, lastSequence)
+                                                  : new TrainerJournal(baseName, lastSequence);
+            journal.unreplayedRecords = unreplayed;
+            return journal;
+        } catch (IOException | RuntimeException e) {
+            if (lock != null) {
+                lock.channel().close();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Outcome of replaying one segment.
+     */
+    private static class Replay {
+        /** Sequence number of the last intact record, or 0 if there is none */
+        private long lastSequence;
+        /** Offset of the first damaged byte, or -1 if the whole segment was intact */
+        private long damagedAt = -1;
+        /** Intact records after afterSequence that were not applied */
+        private long unreplayed;
+    }
+
+    /**
+     * Replays the records of one segment that follow afterSequence, up to
+     * the first damaged record or the first one that cannot be applied.
+     *
+     * @param resolver Looks up what records refer to, or null to only count the records
+     */
+    private static Replay replaySegment(Path path, long afterSequence, Resolver resolver) throws IOException {
+        Replay replay = new Replay();
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+        if (buffer.remaining() < HEADER_BYTES || buffer.getLong() != MAGIC
+                || buffer.getInt() != FORMAT_VERSION) {
+            System.err.println("Journal segment " + path + " is not readable; dropping it and later segments");
+            replay.damagedAt = 0;
+            return replay;
+        }
+        long expected = buffer.getLong();
+
+        while (buffer.hasRemaining()) {
+            int start = buffer.position();
+            byte[] payload = nextPayload(buffer);
+            DataInputStream in = payload != null ? new DataInputStream(new ByteArrayInputStream(payload)) : null;
+            if (in == null || in.readLong() != expected) {
+                System.err.println("Journal segment " + path + " is damaged at offset " + start
+                    + "; dropping " + (buffer.limit() - start) + " bytes and later segments");
+                replay.damagedAt = start;
+                return replay;
+            }
+            replay.lastSequence = expected++;
+            if (replay.lastSequence <= afterSequence) {
+                continue;
+            }
+            if (resolver != null) {
+                try {
+                    apply(in, resolver);
+                    continue;
+                } catch (IOException e) {
+                    System.err.println("Cannot replay journal record " + replay.lastSequence + ": " + e.getMessage()
+                        + "; stopping replay there");
+                    resolver = null;
+                }
+            }
+            replay.unreplayed++;
+        }
+        return replay;
+    }
+
+    /**
+     * Reads the next framed record.
+     *
+     * @return The payload, or null if the record is incomplete or its checksum is wrong
+     */
+    private static byte[] nextPayload(ByteBuffer buffer) {
+        if (buffer.remaining() < 8) {
+            return null;
+        }
+        int length = buffer.getInt();
+        int crc = buffer.getInt();
+        if (length < 8 || length > MAX_RECORD_BYTES || length > buffer.remaining()) {
+            return null;
+        }
+        byte[] payload = new byte[length];
+        buffer.get(payload);
+        CRC32 check = new CRC32();
+        check.update(payload);
+        return (int) check.getValue() == crc ? payload : null;
+    }
+
+    private static void apply(DataInputStream in, Resolver resolver) throws IOException {
+        Op op = Op.of(in.readByte());
+        int trainerID = in.readInt();
+
+        if (op == Op.ADD_TRAINER) {
+            String name = readString(in);
+            String birthdate = readString(in);
+            String sex = readString(in);
+            String hometown = readString(in);
+            String description = readString(in);
+            int money = in.readInt();
+            resolver.addTrainer(new Trainer(trainerID, name, birthdate, sex, hometown, description, money,
+                                            new Pokemon[0], new Pokemon[0], new Item[0], new int[0]));
+            return;
+        }
+
+        Trainer trainer = resolver.findTrainer(trainerID);
+        if (trainer == null) {
+            throw new IOException("unknown trainer " + trainerID);
+        }
+        switch (op) {
+            case SET_NAME: trainer.setName(readString(in)); break;
+            case SET_BIRTHDATE: trainer.setBirthdate(readString(in)); break;
+            case SET_SEX: trainer.setSex(readString(in)); break;
+            case SET_HOMETOWN: trainer.setHometown(readString(in)); break;
+            case SET_DESCRIPTION: trainer.setDescription(readString(in)); break;
+            case ADD_TO_LINEUP: trainer.addPokemonToLineup(readPokemon(in, resolver)); break;
+            case ADD_TO_STORAGE: trainer.addPokemonToStorage(readPokemon(in, resolver)); break;
+            case ADD_ITEM: trainer.addItem(readItem(in, resolver), in.readInt()); break;
+            case BUY_ITEM: trainer.buyItem(readItem(in, resolver), in.readInt()); break;
+            case SELL_ITEM: trainer.sellItem(readItem(in, resolver), in.readInt()); break;
+            case USE_ITEM: {
+                Item item = readItem(in, resolver);
+                int where = in.readByte();
+                Pokemon target;
+                if (where == TARGET_LINEUP) {
+                    target = slot(trainer.getLineup(), trainer.getLineupCount(), in.readInt());
+                } else if (where == TARGET_STORAGE) {
+                    target = slot(trainer.getStorage(), trainer.getStorageCount(), in.readInt());
+                } else {
+                    target = readPokemon(in, resolver);
+                }
+                trainer.useItem(item, target);
+                break;
+            }
+            case SWITCH_FROM_STORAGE: trainer.switchPokemonFromStorage(in.readInt(), in.readInt()); break;
+            case MOVE_TO_STORAGE: trainer.movePokemonToStorage(in.readInt()); break;
+            case RELEASE: trainer.releasePokemon(in.readInt()); break;
+            case RELEASE_FROM_STORAGE: trainer.releasePokemonFromStorage(in.readInt()); break;
+            case TEACH_MOVE: {
+                int pokemonIndex = in.readInt();
+                Move move = resolver.findMove(in.readUTF());
+                int replaceIndex = in.readInt();
+                if (move == null) {
+                    throw new IOException("unknown move");
+                }
+                trainer.teachMove(pokemonIndex, move, replaceIndex);
+                break;
+            }
+            default:
+                throw new IOException("unexpected record type " + op);
+        }
+    }
+
+    private static Pokemon slot(Pokemon[] pokemon, int count, int index) throws IOException {
+        if (index < 0 || index >= count) {
+            throw new IOException("no Pokémon at position " + index);
+        }
+        return pokemon[index];
+    }
+
+    private static Item readItem(DataInputStream in, Resolver resolver) throws IOException {
+        return resolveItem(in.readUTF(), resolver);
+    }
+
+    private static Pokemon readPokemon(DataInputStream in, Resolver resolver) throws IOException {
+        String speciesName = in.readUTF();
+        Species species = resolver.findSpecies(speciesName);
+        if (species == null) {
+            throw new IOException("unknown species " + speciesName);
+        }
+        int level = in.readInt();
+        int[] stats = new int[4];
+        for (int i = 0; i < stats.length; i++) {
+            stats[i] = in.readInt();
+        }
+        Move[] moves = new Move[in.readByte()];
+        for (int i = 0; i < moves.length; i++) {
+            String name = in.readUTF();
+            moves[i] = resolver.findMove(name);
+            if (moves[i] == null) {
+                throw new IOException("unknown move " + name);
+            }
+        }
+        String heldItem = readString(in);
+        int[] evs = new int[5];
+        for (int i = 0; i < evs.length; i++) {
+            evs[i] = in.readInt();
+        }
+        return new Pokemon(species, level, stats, moves,
+                           heldItem != null ? resolveItem(heldItem, resolver) : null, evs);
+    }
+
+    private static Item resolveItem(String name, Resolver resolver) throws IOException {
+        Item item = resolver.findItem(name);
+        if (item == null) {
+            throw new IOException("unknown item " + name);
+        }
+        return item;
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    // Recording
+
+    /**
+     * Records a new trainer.
+     * @param trainer The trainer, as created
+     */
+    public void recordAddTrainer(Trainer trainer) {
+        append(Op.ADD_TRAINER, trainer, out -> {
+            writeString(out, trainer.getName());
+            writeString(out, trainer.getBirthdate());
+            writeString(out, trainer.getSex());
+            writeString(out, trainer.getHometown());
+            writeString(out, trainer.getDescription());
+            out.writeInt(trainer.getMoney());
+        });
+    }
+
+    /**
+     * Records a change to one of a trainer's profile fields.
+     *
+     * @param trainer The trainer
+     * @param field "name", "birthdate", "sex", "hometown" or "description"
+     * @param value The new value
+     */
+    public void recordSetField(Trainer trainer, String field, String value) {
+        Op op;
+        switch (field) {
+            case "name": op = Op.SET_NAME; break;
+            case "birthdate": op = Op.SET_BIRTHDATE; break;
+            case "sex": op = Op.SET_SEX; break;
+            case "hometown": op = Op.SET_HOMETOWN; break;
+            case "description": op = Op.SET_DESCRIPTION; break;
+            default: throw new IllegalArgumentException("Unknown trainer field: " + field);
+        }
+        append(op, trainer, out -> writeString(out, value));
+    }
+
+    /**
+     * Records a Pokémon added to a trainer's lineup or storage.
+     *
+     * @param trainer The trainer
+     * @param pokemon The Pokémon as added
+     * @param toStorage true if it went to storage
+     */
+    public void recordAddPokemon(Trainer trainer, Pokemon pokemon, boolean toStorage) {
+        append(toStorage ? Op.ADD_TO_STORAGE : Op.ADD_TO_LINEUP, trainer, out -> writePokemon(out, pokemon));
+    }
+
+    /**
+     * Records items added to, bought or sold by a trainer.
+     *
+     * @param trainer The trainer
+     * @param item The item
+     * @param quantity The quantity
+     * @param how "add", "buy" or "sell"
+     */
+    public void recordItems(Trainer trainer, Item item, int quantity, String how) {
+        Op op = how.equals("buy") ? Op.BUY_ITEM : how.equals("sell") ? Op.SELL_ITEM : Op.ADD_ITEM;
+        append(op, trainer, out -> {
+            out.writeUTF(item.getName());
+            out.writeInt(quantity);
+        });
+    }
+
+    /**
+     * Records an item used on a Pokémon.
+     *
+     * @param trainer The trainer
+     * @param item The item
+     * @param lineupIndex Position of the target in the lineup, or -1
+     * @param storageIndex Position of the target in storage, or -1
+     * @param target The target (stored only if it is not the trainer's, so
+     *        that replay can use the item on a copy and consume it)
+     */
+    public void recordUseItem(Trainer trainer, Item item, int lineupIndex, int storageIndex, Pokemon target) {
+        append(Op.USE_ITEM, trainer, out -> {
+            out.writeUTF(item.getName());
+            if (lineupIndex >= 0) {
+                out.writeByte(TARGET_LINEUP);
+                out.writeInt(lineupIndex);
+            } else if (storageIndex >= 0) {
+                out.writeByte(TARGET_STORAGE);
+                out.writeInt(storageIndex);
+            } else {
+                out.writeByte(TARGET_OTHER);
+                writePokemon(out, target);
+            }
+        });
+    }
+
+    /**
+     * Records a Pokémon swapped between storage and lineup.
+     */
+    public void recordSwitchFromStorage(Trainer trainer, int storageIndex, int lineupIndex) {
+        append(Op.SWITCH_FROM_STORAGE, trainer, out -> {
+            out.writeInt(storageIndex);
+            out.writeInt(lineupIndex);
+        });
+    }
+
+    /**
+     * Records a Pokémon moved from the lineup to storage.
+     */
+    public void recordMoveToStorage(Trainer trainer, int lineupIndex) {
+        append(Op.MOVE_TO_STORAGE, trainer, out -> out.writeInt(lineupIndex));
+    }
+
+    /**
+     * Records a Pokémon released from the lineup or storage.
+     */
+    public void recordRelease(Trainer trainer, int index, boolean fromStorage) {
+        append(fromStorage ? Op.RELEASE_FROM_STORAGE : Op.RELEASE, trainer, out -> out.writeInt(index));
+    }
+
+    /**
+     * Records a move taught to a lineup Pokémon.
+     */
+    public void recordTeachMove(Trainer trainer, int pokemonIndex, Move move, int replaceIndex) {
+        append(Op.TEACH_MOVE, trainer, out -> {
+            out.writeInt(pokemonIndex);
+            out.writeUTF(move.getName());
+            out.writeInt(replaceIndex);
+        });
+    }
+
+    private static void writePokemon(DataOutputStream out, Pokemon pokemon) throws IOException {
+        out.writeUTF(pokemon.getName());
+        out.writeInt(pokemon.getCurrentLevel());
+        out.writeInt(pokemon.getCurrentHP());
+        out.writeInt(pokemon.getCurrentAttack());
+        out.writeInt(pokemon.getCurrentDefense());
+        out.writeInt(pokemon.getCurrentSpeed());
+        out.writeByte(pokemon.getMoveCount());
+        for (int i = 0; i < pokemon.getMoveCount(); i++) {
+            out.writeUTF(pokemon.getMoveSet()[i].getName());
+        }
+        writeString(out, pokemon.getHeldItem() != null ? pokemon.getHeldItem().getName() : null);
+        for (int ev : pokemon.getEVs()) {
+            out.writeInt(ev);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    /**
+     * Writes the arguments of a record.
+     */
+    private interface Body {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    private void append(Op op, Trainer trainer, Body body) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        DataOutputStream out = new DataOutputStream(bytes);
+        synchronized (monitor) {
+            if (lock == null || closed || failure != null) {
+                return;
+            }
+            try {
+                out.writeLong(lastSequence + 1);
+                out.writeByte(op.code);
+                out.writeInt(trainer.getTrainerID());
+                body.write(out);
+            } catch (IOException e) {
+                // Writing to a byte array does not fail; a string over 64 KB does
+                System.err.println("Could not journal " + op + ": " + e.getMessage());
+                return;
+            }
+            byte[] payload = bytes.toByteArray();
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            ByteBuffer frame = ByteBuffer.allocate(8 + payload.length);
+            frame.putInt(payload.length).putInt((int) crc.getValue()).put(payload);
+            pending.write(frame.array(), 0, frame.capacity());
+
+            lastSequence++;
+            bytesSinceRotate += frame.capacity();
+            monitor.notifyAll();
+        }
+        Runnable listener = appendListener;
+        if (listener != null) {
+            listener.run();
+        }
+    }
+
+    /**
+     * Sets a callback run on the appending thread after each record is
+     * queued, e.g. to compact the journal once it has grown large.
+     *
+     * @param listener The callback, or null
+     */
+    public void setAppendListener(Runnable listener) {
+        this.appendListener = listener;
+    }
+
+    // Writing
+
+    private void writeLoop() {
+        while (true) {
+            byte[] batch;
+            long batchEnd;
+            synchronized (monitor) {
+                while (pending.size() == 0 && !closed) {
+                    try {
+                        monitor.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (pending.size() == 0) {
+                    return; // Closed and drained
+                }
+                batch = pending.toByteArray();
+                pending.reset();
+                batchEnd = lastSequence;
+            }
+
+            try {
+                ByteBuffer buffer = ByteBuffer.wrap(batch);
+                while (buffer.hasRemaining()) {
+                    active.write(buffer);
+                }
+                active.force(false);
+            } catch (IOException e) {
+                synchronized (monitor) {
+                    failure = e;
+                    monitor.notifyAll();
+                }
+                System.err.println("Journal write failed; trainer changes are no longer journaled: " + e.getMessage());
+                return;
+            }
+
+            synchronized (monitor) {
+                durableSequence = batchEnd;
+                monitor.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Waits until every record appended so far is on disk.
+     *
+     * @throws IOException if the journal could not be written
+     */
+    public void sync() throws IOException {
+        synchronized (monitor) {
+            long target = lastSequence;
+            while (durableSequence < target && failure == null) {
+                try {
+                    monitor.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while syncing the journal");
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    /**
+     * Gets the sequence number of the last appended record.
+     * @return The sequence number (0 if no record was ever appended)
+     */
+    public long getLastSequence() {
+        synchronized (monitor) {
+            return lastSequence;
+        }
+    }
+
+    /**
+     * Checks if this journal holds its lock and records appends. A
+     * read-only journal must not be compacted: another journal owns the
+     * segments and the snapshot they follow, or they hold records that
+     * could not be replayed.
+     * @return true if the journal is writable
+     */
+    public boolean isWritable() {
+        return lock != null;
+    }
+
+    /**
+     * Gets how many intact records open() could not replay. Those records
+     * are still in the journal, which is read-only if the count is nonzero.
+     * @return The number of records (0 if everything was replayed)
+     */
+    public long getUnreplayedRecords() {
+        return unreplayedRecords;
+    }
+
+    /**
+     * Checks if any journal segment on disk holds records, without
+     * opening the journal.
+     *
+     * @param baseName Base name of the segment files
+     * @return true if a segment is longer than its header
+     * @throws IOException if the journal directory cannot be read
+     */
+    public static boolean hasRecords(String baseName) throws IOException {
+        for (Path path : listSegments(baseName).values()) {
+            if (Files.size(path) > HEADER_BYTES) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets how much was appended since the journal was opened or last rotated.
+     * @return The size in bytes
+     */
+    public long getBytesSinceRotate() {
+        synchronized (monitor) {
+            return bytesSinceRotate;
+        }
+    }
+
+    /**
+     * Starts a new segment, so that every record appended so far is in a
+     * segment that a snapshot taken now fully covers. Call it from the
+     * thread that changes trainers, right before encoding the snapshot.
+     *
+     * @return The sequence number of the last record before the new segment
+     * @throws IOException if the journal could not be written
+     */
+    public long rotate() throws IOException {
+        if (lock == null) {
+            throw new IOException(baseName + " is in use by another instance");
+        }
+        sync();
+        synchronized (monitor) {
+            // The writer is idle: nothing is pending and everything appended is durable
+            if (bytesSinceRotate > 0) {
+                active.close();
+                startSegment(lastSequence + 1);
+                bytesSinceRotate = 0;
+            }
+            return lastSequence;
+        }
+    }
+
+    /**
+     * Deletes the segments whose records all have sequence numbers up to
+     * the given one, once a snapshot including them is safely on disk.
+     * The active segment is never deleted.
+     *
+     * @param sequence The last sequence number the snapshot includes
+     */
+    public void deleteSegmentsThrough(long sequence) {
+        synchronized (monitor) {
+            Iterator<Map.Entry<Long, Path>> it = segments.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<Long, Path> segment = it.next();
+                Long next = segments.higherKey(segment.getKey());
+                if (next == null || next - 1 > sequence) {
+                    break;
+                }
+                try {
+                    Files.deleteIfExists(segment.getValue());
+                    it.remove();
+                } catch (IOException e) {
+                    System.err.println("Could not delete journal segment " + segment.getValue() + ": " + e.getMessage());
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes out every queued record and closes the journal.
+     *
+     * @throws IOException if the journal could not be written
+     */
+    @Override
+    public void close() throws IOException {
+        if (lock == null) {
+            return;
+        }
+        try {
+            sync();
+        } finally {
+            synchronized (monitor) {
+                closed = true;
+                monitor.notifyAll();
+            }
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            active.close();
+            lock.channel().close();
+        }
+    }
+
+    private void startSegment(long firstSequence) throws IOException {
+        Path path = Paths.get(baseName + "." + firstSequence);
+        active = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                  StandardOpenOption.TRUNCATE_EXISTING);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putLong(MAGIC).putInt(FORMAT_VERSION).putLong(firstSequence).flip();
+        while (header.hasRemaining()) {
+            active.write(header);
+        }
+        active.force(true);
+        segments.put(firstSequence, path);
+    }
+
+    /**
+     * Finds the segment files of a journal.
+     * @return The segments by first sequence number
+     */
+    private static SortedMap<Long, Path> listSegments(String baseName) throws IOException {
+        Path base = Paths.get(baseName).toAbsolutePath();
+        String prefix = base.getFileName() + ".";
+        SortedMap<Long, Path> segments = new TreeMap<>();
+        try (DirectoryStream<Path> dir = Files.newDirectoryStream(base.getParent(), prefix + "*")) {
+            for (Path path : dir) {
+                String suffix = path.getFileName().toString().substring(prefix.length());
+                if (!suffix.isEmpty() && suffix.chars().allMatch(Character::isDigit)) {
+                    segments.put(Long.parseLong(suffix), path);
+                }
+            }
+        }
+        return segments;
+    }
+}
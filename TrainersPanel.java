@@ -34,6 +34,8 @@ public class TrainersPanel extends JPanel {
     private JTable trainersTable;
     /** Model for the trainers table */
     private DefaultTableModel tableModel;
+    /** Fills the table with paged search results */
+    private PagedTableLoader<Trainer> pageLoader;
     /** Text field for search input */
     private JTextField searchField;
     /** Text area for displaying detailed trainer information */
@@ -111,6 +113,9 @@ public class TrainersPanel extends JPanel {
         detailsArea.setEditable(false);
         detailsArea.setFont(pokeFont(10f));
         
+        // Name completions under the search field (added before the Enter key listener)
+        new AutocompletePopup(searchField, controller::completeTrainerNames, this::searchTrainers);
+        
         // Add listeners
         addListeners();
     }
@@ -132,6 +137,7 @@ public class TrainersPanel extends JPanel {
         
         // Add table with scroll pane
         JScrollPane tableScrollPane = new JScrollPane(trainersTable);
+        pageLoader = new PagedTableLoader<>(tableModel, this::trainerRow, tableScrollPane);
         tableScrollPane.setPreferredSize(new Dimension(600, 300));
         centerPanel.add(tableScrollPane, BorderLayout.CENTER);
         
@@ -174,6 +180,7 @@ public class TrainersPanel extends JPanel {
     }
     
     private void loadTrainersData() {
+        pageLoader.stop();
         tableModel.setRowCount(0);
         List<Trainer> trainersList = controller.getAllTrainers();
         
@@ -198,23 +205,40 @@ public class TrainersPanel extends JPanel {
             return;
         }
         
-        List<Trainer> results = controller.searchTrainers(query);
+        if (!StructuredQuery.looksStructured(query)) {
+            // Plain searches fetch one page at a time as the table scrolls
+            pageLoader.start((offset, limit) -> controller.searchTrainersPage(query, offset, limit));
+            return;
+        }
+        
+        // Structured query such as name:char* or field>value
+        List<Trainer> results;
+        try {
+            results = controller.queryTrainers(query);
+        } catch (IllegalArgumentException ex) {
+            JOptionPane.showMessageDialog(this, "Invalid query: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        pageLoader.stop();
         tableModel.setRowCount(0);
         
         for (Trainer trainer : results) {
-            Object[] row = {
-                trainer.getTrainerID(),
-                trainer.getName(),
-                trainer.getHometown(),
-                "₽" + trainer.getMoney(),
-                trainer.getLineupCount() + "/6",
-                trainer.getStorageCount(),
-                trainer.getTotalItemCount()
-            };
-            tableModel.addRow(row);
+            tableModel.addRow(trainerRow(trainer));
         }
     }
     
+    private Object[] trainerRow(Trainer trainer) {
+        return new Object[] {
+            trainer.getTrainerID(),
+            trainer.getName(),
+            trainer.getHometown(),
+            "₽" + trainer.getMoney(),
+            trainer.getLineupCount() + "/6",
+            trainer.getStorageCount(),
+            trainer.getTotalItemCount()
+        };
+    }
+    
     private void showAddTrainerDialog() {
         JDialog dialog = new JDialog((Frame) SwingUtilities.getWindowAncestor(this), "Add New Trainer", true);
         dialog.setLayout(new BorderLayout());
@@ -0,0 +1,81 @@
+import java.util.*;
+
+/**
+ * Trigram index for substring ("contains") search over entity fields.
+ * Every normalized field value is broken into all of its three-character
+ * substrings, and each trigram maps to a posting list of the ids (list
+ * positions) of the entities containing it. Any entity whose field
+ * contains a query of length three or more must contain every trigram
+ * of the query, so intersecting those posting lists yields a small
+ * candidate set that is then verified with the normal search check.
+ *
+ * Ids must be added in ascending order, like TokenIndex.
+ *
+ * @author Enhanced Pokédex Team
+ * @version 1.0
+ * @since 2024
+ */
+public class TrigramIndex {
+    /** Shortest query the index can answer */
+    public static final int MIN_QUERY_LENGTH = 3;
+
+    /** Posting list of each trigram, keyed by its three chars packed into a long */
+    private Map<Long, PostingList> postings = new HashMap<>();
+
+    /**
+     * Indexes the text fields of an entity.
+     * Fields are normalized with SearchKey.normalize, like the search queries.
+     * Null fields are skipped.
+     *
+     * @param id The entity id (must not be lower than any id added before)
+     * @param fields The text fields to index
+     */
+    public void add(int id, String... fields) {
+        for (String field : fields) {
+            if (field == null) continue;
+            String lower = SearchKey.normalize(field);
+            for (int i = 0; i + MIN_QUERY_LENGTH <= lower.length(); i++) {
+                postings.computeIfAbsent(trigram(lower, i), t -> new PostingList()).add(id);
+            }
+        }
+    }
+
+    /**
+     * Removes every entry from the index.
+     */
+    public void clear() {
+        postings.clear();
+    }
+
+    /**
+     * Finds the entities that may contain a query as a substring.
+     * Every entity that does contain it is returned; callers must still
+     * verify each candidate, because the trigrams can come from
+     * different places or fields.
+     *
+     * @param normalizedQuery The query, normalized with SearchKey.normalize
+     * @return Candidate ids in ascending order, or null if the query is too short for the index
+     */
+    public int[] candidates(String normalizedQuery) {
+        if (normalizedQuery.length() < MIN_QUERY_LENGTH) {
+            return null;
+        }
+
+        List<PostingList> lists = new ArrayList<>();
+        for (int i = 0; i + MIN_QUERY_LENGTH <= normalizedQuery.length(); i++) {
+            PostingList list = postings.get(trigram(normalizedQuery, i));
+            if (list == null) {
+                return new int[0];
+            }
+            lists.add(list);
+        }
+        return PostingList.intersectAll(lists);
+    }
+
+    /**
+     * Packs the three chars starting at an index into one key.
+     */
+    private static long trigram(String text, int start) {
+        return ((long) text.charAt(start) << 32) | ((long) text.charAt(start + 1) << 16) | text.charAt(start + 2);
+    }
+}
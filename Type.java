@@ -0,0 +1,128 @@
+/**
+ * Enumeration of the 18 Pokémon types.
+ * Each type owns one bit so that the one or two types of a Pokémon or
+ * move can be stored as a small bitmask, and type checks become
+ * single bitwise operations instead of String comparisons.
+ *
+ * Type names are parsed once (when a Pokémon or move is created) and
+ * the original Strings are kept for display in the GUI.
+ *
+ * @author Enhanced Pokédex Team
+ * @version 1.0
+ * @since 2024
+ */
+public enum Type {
+    NORMAL("Normal"),
+    FIRE("Fire"),
+    WATER("Water"),
+    ELECTRIC("Electric"),
+    GRASS("Grass"),
+    ICE("Ice"),
+    FIGHTING("Fighting"),
+    POISON("Poison"),
+    GROUND("Ground"),
+    FLYING("Flying"),
+    PSYCHIC("Psychic"),
+    BUG("Bug"),
+    ROCK("Rock"),
+    GHOST("Ghost"),
+    DRAGON("Dragon"),
+    DARK("Dark"),
+    STEEL("Steel"),
+    FAIRY("Fairy");
+
+    /**
+     * Mask bit set when a type name is not one of the 18 known types.
+     * Masks carrying this bit cannot be compared bitwise alone.
+     */
+    public static final int UNKNOWN_MASK = 1 << 31;
+
+    /** All types, cached to avoid copying values() on every lookup */
+    private static final Type[] VALUES = values();
+
+    /** The display name used in data files and the GUI */
+    private final String displayName;
+    /** The lowercase display name used for searching */
+    private final String lowerName;
+    /** The bit representing this type in a type mask */
+    private final int mask;
+
+    Type(String displayName) {
+        this.displayName = displayName;
+        this.lowerName = displayName.toLowerCase();
+        this.mask = 1 << ordinal();
+    }
+
+    /**
+     * Gets the display name of this type.
+     * @return The display name, e.g. "Fire"
+     */
+    public String getDisplayName() { return displayName; }
+
+    /**
+     * Gets the lowercase name of this type.
+     * @return The lowercase name, e.g. "fire"
+     */
+    public String getLowerName() { return lowerName; }
+
+    /**
+     * Gets the bit representing this type in a type mask.
+     * @return The type's mask bit
+     */
+    public int getMask() { return mask; }
+
+    /**
+     * Parses a type from its display name.
+     * Matching is exact, the same way type Strings were compared before.
+     *
+     * @param name The display name to parse (can be null)
+     * @return The matching type, or null if the name is null or unknown
+     */
+    public static Type fromName(String name) {
+        if (name == null) {
+            return null;
+        }
+        for (Type type : VALUES) {
+            if (type.displayName.equals(name)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the type with the given ordinal.
+     *
+     * @param ordinal The ordinal of the type
+     * @return The type with that ordinal
+     */
+    public static Type fromOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+
+    /**
+     * Builds the type mask for a pair of type names.
+     * Unknown, non-empty names set UNKNOWN_MASK.
+     *
+     * @param type1 The primary type name
+     * @param type2 The secondary type name (can be null)
+     * @return The combined type mask
+     */
+    public static int maskOf(String type1, String type2) {
+        return maskOf(type1) | maskOf(type2);
+    }
+
+    /**
+     * Builds the type mask for a single type name.
+     *
+     * @param name The type name (can be null or empty)
+     * @return The type's mask bit, 0 for no type, or UNKNOWN_MASK
+     */
+    private static int maskOf(String name) {
+        if (name == null || name.isEmpty()) {
+            return 0;
+        }
+        Type type = fromName(name);
+        return type != null ? type.mask : UNKNOWN_MASK;
+    }
+}
@@ -0,0 +1,112 @@
+import java.util.*;
+
+/**
+ * Secondary index from Pokémon type to the rows of the species list.
+ * This class keeps one BitSet per type, where bit i is set when the
+ * Pokémon at position i of the species list has that type. Type
+ * filters are answered with bitset unions and intersections instead
+ * of scanning every Pokémon.
+ *
+ * Pokémon whose types are not one of the known types are not indexed;
+ * callers compare those by name.
+ *
+ * @author Enhanced Pokédex Team
+ * @version 1.0
+ * @since 2024
+ */
+public class TypeIndex {
+    /** Rows of the species list for each type, indexed by Type ordinal */
+    private BitSet[] rowsByType = new BitSet[Type.values().length];
+
+    /**
+     * Constructor - creates an empty index.
+     */
+    public TypeIndex() {
+        for (int i = 0; i < rowsByType.length; i++) {
+            rowsByType[i] = new BitSet();
+        }
+    }
+
+    /**
+     * Indexes the Pokémon at a row of the species list.
+     *
+     * @param row The position of the Pokémon in the species list
+     * @param pokemon The Pokémon at that position
+     */
+    public void add(int row, Pokemon pokemon) {
+        if (pokemon.getPrimaryType() != null) {
+            rowsByType[pokemon.getPrimaryType().ordinal()].set(row);
+        }
+        if (pokemon.getSecondaryType() != null) {
+            rowsByType[pokemon.getSecondaryType().ordinal()].set(row);
+        }
+    }
+
+    /**
+     * Removes all rows from the index.
+     */
+    public void clear() {
+        for (BitSet rows : rowsByType) {
+            rows.clear();
+        }
+    }
+
+    /**
+     * Gets the rows of Pokémon that have a type.
+     *
+     * @param type The type to look up
+     * @return A new BitSet of matching rows
+     */
+    public BitSet rowsWithType(Type type) {
+        return (BitSet) rowsByType[type.ordinal()].clone();
+    }
+
+    /**
+     * Gets the rows of Pokémon that have every one of the given types.
+     *
+     * @param types The types that must all be present
+     * @return A new BitSet of matching rows (empty if no types are given)
+     */
+    public BitSet rowsWithAllTypes(Collection<Type> types) {
+        BitSet result = null;
+        for (Type type : types) {
+            if (result == null) {
+                result = rowsWithType(type);
+            } else {
+                result.and(rowsByType[type.ordinal()]);
+            }
+        }
+        return result != null ? result : new BitSet();
+    }
+
+    /**
+     * Gets the rows of Pokémon that have at least one of the given types.
+     *
+     * @param types The types of which at least one must be present
+     * @return A new BitSet of matching rows
+     */
+    public BitSet rowsWithAnyType(Collection<Type> types) {
+        BitSet result = new BitSet();
+        for (Type type : types) {
+            result.or(rowsByType[type.ordinal()]);
+        }
+        return result;
+    }
+
+    /**
+     * Gets the rows of Pokémon with a type whose name contains a query,
+     * matching the substring behaviour of the Pokémon search.
+     *
+     * @param lowerQuery The lowercase search query
+     * @return A new BitSet of matching rows
+     */
+    public BitSet rowsWithTypeNameContaining(String lowerQuery) {
+        BitSet result = new BitSet();
+        for (Type type : Type.values()) {
+            if (type.getLowerName().contains(lowerQuery)) {
+                result.or(rowsByType[type.ordinal()]);
+            }
+        }
+        return result;
+    }
+}